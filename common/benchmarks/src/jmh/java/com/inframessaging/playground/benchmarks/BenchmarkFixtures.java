@@ -0,0 +1,98 @@
+package com.inframessaging.playground.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.CustomEvent;
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.ProducerInfo;
+import com.inframessaging.playground.messaging.api.Routing;
+import com.inframessaging.playground.messaging.api.TraceInfo;
+import com.inframessaging.playground.messaging.outbox.EventIdGenerator;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 벤치마크 공통 픽스처
+ * - ObjectMapper는 Spring Boot 기본 구성과 같게(JavaTimeModule, ISO-8601 날짜) 만듭니다.
+ * - 이벤트/Envelope는 serviceA의 UserRegisteredEvent(v1)와 같은 모양입니다.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String REGISTERED_TYPE = "UserRegisteredEvent";
+    public static final String UNREGISTERED_TYPE = "UserActivityLoggedEvent";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public static ProducerInfo producerInfo() {
+        return ProducerInfo.builder().service("serviceA").host("bench-host").env("local").build();
+    }
+
+    public static SampleEvent sampleEvent(int i) {
+        return new SampleEvent(BrokerType.KAFKA, "user.registered.v1", 1, Map.of(
+                "userId", "user-" + i,
+                "email", "user-" + i + "@example.com",
+                "userNumber", 100_000L + i,
+                "regCode", 42L));
+    }
+
+    /** DomainEventPublisherImpl.buildEnvelope와 같은 구성 */
+    public static Envelope<CustomEvent> envelope(CustomEvent event, String type, ProducerInfo producer) {
+        return Envelope.<CustomEvent>builder()
+                .id(EventIdGenerator.nextId())
+                .type(type)
+                .version(event.version())
+                .occurredAt(Instant.now())
+                .producer(producer)
+                .trace(TraceInfo.builder().traceId(EventIdGenerator.nextId()).correlationId(EventIdGenerator.nextId()).build())
+                .routing(Routing.builder()
+                        .broker(event.brokerType())
+                        .kafka(Routing.Kafka.builder().topic(event.topic()).key("user-1").build())
+                        .rabbit(Routing.Rabbit.builder().exchange(event.topic()).build())
+                        .build())
+                .payload(event)
+                .build();
+    }
+
+    /** 직렬화 대상 이벤트(serviceA의 DemoController 이벤트와 같은 형태: getter 노출) */
+    public static final class SampleEvent implements CustomEvent {
+        private final BrokerType brokerType;
+        private final String topic;
+        private final int version;
+        private final Object payload;
+
+        public SampleEvent(BrokerType brokerType, String topic, int version, Object payload) {
+            this.brokerType = brokerType;
+            this.topic = topic;
+            this.version = version;
+            this.payload = payload;
+        }
+
+        public BrokerType getBrokerType() { return brokerType; }
+        public String getTopic() { return topic; }
+        public int getVersion() { return version; }
+        public Object getPayload() { return payload; }
+
+        @Override public BrokerType brokerType() { return brokerType; }
+        @Override public String topic() { return topic; }
+        @Override public int version() { return version; }
+    }
+
+    /** 수신 측 등록 payload 타입(serviceB의 UserRegisteredPayload와 같은 필드) */
+    public static final class UserRegisteredPayload {
+        public String userId;
+        public String email;
+        public Long userNumber;
+        public Long regCode;
+    }
+}
@@ -0,0 +1,118 @@
+package com.inframessaging.playground.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.ProducerInfo;
+import deser.EnvelopeCodecs;
+import deser.EnvelopeDeserializer;
+import deser.EventPayloadRegistry;
+import deser.JsonEnvelopeCodec;
+import deser.SmileEnvelopeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수신 경로 역직렬화 벤치마크
+ * - registered: 레지스트리에 (type, version)이 등록된 이벤트(구체 payload 타입으로 변환)
+ * - unregistered: 등록이 없는 이벤트(Map payload로 유지)
+ * - registeredBytes: 브로커 본문(byte[])을 String 변환 없이 파싱
+ * - payloadFirst: payload가 type/version보다 앞에 오는 문서(TokenBuffer 경로)
+ * - headerResolved: 메시지 헤더로 payload 바인딩을 미리 고른 경우(EnvelopeMessageReader 경로)
+ * - smileHeaderResolved: 같은 문서를 Smile로 인코딩한 본문(X-Content-Type: application/x-jackson-smile)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnvelopeDeserializerBenchmark {
+
+    private EnvelopeDeserializer deserializer;
+    private EventPayloadRegistry.PayloadBinding binding;
+    private String registeredJson;
+    private String unregisteredJson;
+    private byte[] registeredBytes;
+    private String payloadFirstJson;
+    private byte[] registeredSmile;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        EventPayloadRegistry registry = new EventPayloadRegistry(objectMapper);
+        registry.register(BenchmarkFixtures.REGISTERED_TYPE, 1, BenchmarkFixtures.UserRegisteredPayload.class);
+        JsonEnvelopeCodec jsonCodec = new JsonEnvelopeCodec(objectMapper);
+        SmileEnvelopeCodec smileCodec = new SmileEnvelopeCodec(objectMapper);
+        deserializer = new EnvelopeDeserializer(objectMapper, registry,
+                new EnvelopeCodecs(jsonCodec, List.of(smileCodec), JsonEnvelopeCodec.CONTENT_TYPE));
+        binding = registry.binding(BenchmarkFixtures.REGISTERED_TYPE, 1);
+
+        ProducerInfo producer = BenchmarkFixtures.producerInfo();
+        // 수신 측은 payload 본문(이벤트 getter 결과)을 받으므로 payload 필드만 있는 Map 형태로 만듭니다.
+        Object payload = BenchmarkFixtures.sampleEvent(1).getPayload();
+        registeredJson = objectMapper.writeValueAsString(withPayload(
+                BenchmarkFixtures.envelope(BenchmarkFixtures.sampleEvent(1), BenchmarkFixtures.REGISTERED_TYPE, producer), payload));
+        unregisteredJson = objectMapper.writeValueAsString(withPayload(
+                BenchmarkFixtures.envelope(BenchmarkFixtures.sampleEvent(1), BenchmarkFixtures.UNREGISTERED_TYPE, producer), payload));
+        registeredBytes = registeredJson.getBytes(StandardCharsets.UTF_8);
+        registeredSmile = smileCodec.encode(objectMapper.readValue(registeredJson, Object.class));
+
+        Map<String, Object> fields = objectMapper.readValue(registeredJson, new TypeReference<Map<String, Object>>() {});
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("payload", fields.remove("payload"));
+        reordered.putAll(fields);
+        payloadFirstJson = objectMapper.writeValueAsString(reordered);
+    }
+
+    @Benchmark
+    public Envelope<?> registered() {
+        return deserializer.deserialize(registeredJson);
+    }
+
+    @Benchmark
+    public Envelope<?> unregistered() {
+        return deserializer.deserialize(unregisteredJson);
+    }
+
+    @Benchmark
+    public Envelope<?> registeredBytes() {
+        return deserializer.deserialize(registeredBytes);
+    }
+
+    @Benchmark
+    public Envelope<?> headerResolved() {
+        return deserializer.deserialize(registeredBytes, binding);
+    }
+
+    @Benchmark
+    public Envelope<?> smileHeaderResolved() {
+        return deserializer.deserialize(registeredSmile, SmileEnvelopeCodec.CONTENT_TYPE, binding);
+    }
+
+    @Benchmark
+    public Envelope<?> payloadFirst() {
+        return deserializer.deserialize(payloadFirstJson);
+    }
+
+    private static Envelope<Object> withPayload(Envelope<?> source, Object payload) {
+        return Envelope.builder()
+                .id(source.getId())
+                .type(source.getType())
+                .version(source.getVersion())
+                .occurredAt(source.getOccurredAt())
+                .producer(source.getProducer())
+                .trace(source.getTrace())
+                .routing(source.getRouting())
+                .payload(payload)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.inframessaging.playground.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.api.CustomEvent;
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.ProducerInfo;
+import com.inframessaging.playground.messaging.outbox.EventIdGenerator;
+import deser.EnvelopeCompression;
+import deser.SmileEnvelopeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 발행 경로 직렬화 벤치마크
+ * - DomainEventPublisherImpl.toEntity가 하는 일(Envelope 구성 + JSON 직렬화)을 단계별로 측정합니다.
+ * - writeValueAsString은 이전 TEXT 컬럼 방식과의 비교 기준입니다.
+ * - smileEncode는 messaging.codec.content-type=application/x-jackson-smile 일 때의 발행 경로입니다.
+ * - writeAndGzip은 압축 임계값을 넘은 본문에 추가되는 gzip 비용입니다(압축 이득이 없으면 null).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnvelopeSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ProducerInfo producer;
+    private CustomEvent event;
+    private Envelope<CustomEvent> envelope;
+    private SmileEnvelopeCodec smileCodec;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        producer = BenchmarkFixtures.producerInfo();
+        event = BenchmarkFixtures.sampleEvent(1);
+        envelope = BenchmarkFixtures.envelope(event, BenchmarkFixtures.REGISTERED_TYPE, producer);
+        smileCodec = new SmileEnvelopeCodec(objectMapper);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] smileEncode() throws Exception {
+        return smileCodec.encode(envelope);
+    }
+
+    @Benchmark
+    public byte[] writeAndGzip() throws Exception {
+        return EnvelopeCompression.gzip(objectMapper.writeValueAsBytes(envelope));
+    }
+
+    @Benchmark
+    public String writeValueAsString() throws Exception {
+        return objectMapper.writeValueAsString(envelope);
+    }
+
+    /** Envelope 구성(id 3개 생성 포함) + 직렬화 */
+    @Benchmark
+    public byte[] buildAndWrite() throws Exception {
+        return objectMapper.writeValueAsBytes(BenchmarkFixtures.envelope(event, BenchmarkFixtures.REGISTERED_TYPE, producer));
+    }
+
+    @Benchmark
+    public String eventIdGenerator() {
+        return EventIdGenerator.nextId();
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.inframessaging.playground.benchmarks;
+
+import deser.EventPayloadRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 레지스트리 조회 벤치마크
+ * - 컨슈머 스레드 여럿이 동시에 find를 호출하는 상황(@Threads)에서 hit/miss 비용을 측정합니다.
+ * - 등록 규모는 서비스 하나가 가질 만한 수준(타입 50 x 버전 3)으로 둡니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class EventPayloadRegistryBenchmark {
+
+    private static final int TYPES = 50;
+    private static final int VERSIONS = 3;
+
+    private EventPayloadRegistry registry;
+    private String hitType;
+
+    @Setup
+    public void setUp() {
+        registry = new EventPayloadRegistry(BenchmarkFixtures.objectMapper());
+        for (int t = 0; t < TYPES; t++) {
+            for (int v = 1; v <= VERSIONS; v++) {
+                registry.register("BenchEvent" + t, v, BenchmarkFixtures.UserRegisteredPayload.class);
+            }
+        }
+        // 리터럴과 다른 String 인스턴스(수신 메시지에서 파싱된 문자열과 같은 조건)
+        hitType = new String("BenchEvent" + (TYPES / 2));
+    }
+
+    @Benchmark
+    public Class<?> hit() {
+        return registry.find(hitType, 2);
+    }
+
+    @Benchmark
+    public Class<?> miss() {
+        return registry.find(hitType, VERSIONS + 1);
+    }
+
+    @Benchmark
+    public EventPayloadRegistry.PayloadBinding bindingHit() {
+        return registry.binding(hitType, 2);
+    }
+}
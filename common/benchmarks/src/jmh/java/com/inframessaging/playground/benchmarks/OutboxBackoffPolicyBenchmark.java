@@ -0,0 +1,44 @@
+package com.inframessaging.playground.benchmarks;
+
+import com.inframessaging.playground.messaging.outbox.OutboxBackoffPolicy;
+import com.inframessaging.playground.messaging.outbox.OutboxProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재시도 백오프 계산 벤치마크(실패 행마다 호출되는 OutboxProcessor 경로)
+ * - attempts가 커서 상한(maxSeconds)에 걸리는 경우와 지터 유무를 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OutboxBackoffPolicyBenchmark {
+
+    @Param({"1", "5", "30"})
+    public int attempts;
+
+    @Param({"0.0", "0.2"})
+    public double jitterRate;
+
+    private OutboxBackoffPolicy policy;
+
+    @Setup
+    public void setUp() {
+        OutboxProperties.Backoff backoff = new OutboxProperties.Backoff();
+        backoff.setJitterRate(jitterRate);
+        policy = new OutboxBackoffPolicy(backoff);
+    }
+
+    @Benchmark
+    public long delaySeconds() {
+        return policy.delaySeconds(attempts);
+    }
+}
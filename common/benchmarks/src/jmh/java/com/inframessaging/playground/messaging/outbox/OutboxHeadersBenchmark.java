@@ -0,0 +1,75 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.benchmarks.BenchmarkFixtures;
+import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.CustomEvent;
+import com.inframessaging.playground.messaging.api.Envelope;
+import deser.EnvelopeCodecs;
+import deser.JsonEnvelopeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전송 헤더 구성 벤치마크(행마다 호출되는 OutboxEventSender.headersOf 경로)
+ * - legacyParse: headers 컬럼이 비어 있어 Envelope 본문을 readTree로 파싱하는 경우
+ * - storedHeaders: 발행 시점에 저장된 headers 컬럼을 디코딩하는 경우
+ * - encodeAtPublish: 발행 시점에 추가로 드는 헤더 계산/인코딩 비용
+ * OutboxHeaders가 패키지 전용이므로 이 스위트는 outbox 패키지에 둡니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OutboxHeadersBenchmark {
+
+    private OutboxEventSender sender;
+    private Envelope<CustomEvent> envelope;
+    private OutboxEventEntity legacyRow;
+    private OutboxEventEntity storedRow;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        // headersOf는 producer를 쓰지 않습니다.
+        sender = new OutboxEventSender(null, objectMapper, EnvelopeCodecs.jsonOnly(new JsonEnvelopeCodec(objectMapper)));
+        envelope = BenchmarkFixtures.envelope(BenchmarkFixtures.sampleEvent(1),
+                BenchmarkFixtures.REGISTERED_TYPE, BenchmarkFixtures.producerInfo());
+        byte[] body = objectMapper.writeValueAsBytes(envelope);
+        legacyRow = row(body, null);
+        storedRow = row(body, OutboxHeaders.encode(OutboxHeaders.of(envelope)));
+    }
+
+    @Benchmark
+    public Map<String, String> legacyParse() {
+        return sender.headersOf(legacyRow);
+    }
+
+    @Benchmark
+    public Map<String, String> storedHeaders() {
+        return sender.headersOf(storedRow);
+    }
+
+    @Benchmark
+    public String encodeAtPublish() {
+        return OutboxHeaders.encode(OutboxHeaders.of(envelope));
+    }
+
+    private static OutboxEventEntity row(byte[] body, String headers) {
+        return OutboxEventEntity.builder()
+                .brokerType(BrokerType.KAFKA)
+                .kafkaTopic("user.registered.v1")
+                .messageKey("user-1")
+                .envelope(body)
+                .headers(headers)
+                .status(OutboxEventStatus.PENDING)
+                .build();
+    }
+}
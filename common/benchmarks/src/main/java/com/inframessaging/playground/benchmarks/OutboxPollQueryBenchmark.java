@@ -0,0 +1,155 @@
+package com.inframessaging.playground.benchmarks;
+
+import org.flywaydb.core.Flyway;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * event_outbox 폴링 쿼리 벤치마크
+ * - Flyway 스키마(인덱스 포함)로 테이블을 만든 뒤, 작은 활성 집합(PENDING)을 두고 SENT 행을 단계적으로 누적합니다.
+ * - 각 단계마다 OutboxEventRepository.findProcessable과 같은 조건/정렬/LIMIT의 쿼리 지연을 측정합니다.
+ * - 인덱스가 접근 경로와 맞으면 SENT 행이 수백만 건으로 늘어도 폴링 비용이 거의 일정해야 합니다.
+ *
+ * 시스템 프로퍼티
+ * - bench.jdbcUrl / bench.user / bench.password: 대상 DB(기본: H2 인메모리, MySQL 모드)
+ * - bench.migrate: Flyway 마이그레이션 실행 여부(기본 true, 외부 DB에 스키마가 이미 있으면 false)
+ * - bench.vendor: 마이그레이션 위치 classpath:db/migration/{vendor}(h2 | mysql | postgresql, 기본 h2)
+ * - bench.sentSteps: 단계별 누적 SENT 행 수(콤마 구분, 기본 0,100000,1000000,3000000)
+ * - bench.activeRows: PENDING 활성 행 수(기본 1000)
+ * - bench.batchSize: 폴링 LIMIT(기본 100)
+ * - bench.iterations: 단계별 측정 반복 수(기본 200, 동일 수만큼 워밍업)
+ * - bench.dropIndex: true면 인덱스를 제거하고 측정(비교용)
+ */
+public final class OutboxPollQueryBenchmark {
+
+    private static final String POLL_SQL =
+            "SELECT id, broker_type, kafka_topic, rabbit_exchange, rabbit_routing_key, message_key, envelope, status, retry_count " +
+            "FROM event_outbox WHERE status IN ('PENDING', 'FAILED') " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= ?) " +
+            "AND (lease_until IS NULL OR lease_until < ?) " +
+            "ORDER BY created_at LIMIT ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO event_outbox (broker_type, kafka_topic, message_key, envelope, status, retry_count, created_at, updated_at, sent_at, version) " +
+            "VALUES ('KAFKA', 'bench.topic.v1', ?, ?, ?, 0, ?, ?, ?, 0)";
+
+    /** 실제 Envelope 크기에 가까운 더미 본문 */
+    private static final String ENVELOPE_JSON = "{\"id\":\"bench\",\"type\":\"BenchEvent\",\"version\":1,\"occurredAt\":\"2025-01-01T00:00:00Z\","
+            + "\"producer\":{\"service\":\"bench\",\"host\":\"localhost\",\"env\":\"local\"},"
+            + "\"trace\":{\"traceId\":\"00000000-0000-0000-0000-000000000000\",\"correlationId\":\"00000000-0000-0000-0000-000000000000\"},"
+            + "\"routing\":{\"broker\":\"KAFKA\",\"kafka\":{\"topic\":\"bench.topic.v1\",\"key\":\"user-1\"},\"rabbit\":null},"
+            + "\"payload\":{\"userId\":\"user-1\",\"email\":\"user-1@example.com\"}}";
+
+    private static final byte[] ENVELOPE = ENVELOPE_JSON.getBytes(StandardCharsets.UTF_8);
+
+    private static final int INSERT_BATCH = 10_000;
+
+    private OutboxPollQueryBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.jdbcUrl", "jdbc:h2:mem:outbox_bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        String user = System.getProperty("bench.user", "sa");
+        String password = System.getProperty("bench.password", "");
+        long[] steps = Arrays.stream(System.getProperty("bench.sentSteps", "0,100000,1000000,3000000").split(","))
+                .map(String::trim).mapToLong(Long::parseLong).sorted().toArray();
+        int activeRows = Integer.getInteger("bench.activeRows", 1000);
+        int batchSize = Integer.getInteger("bench.batchSize", 100);
+        int iterations = Integer.getInteger("bench.iterations", 200);
+
+        if (Boolean.parseBoolean(System.getProperty("bench.migrate", "true"))) {
+            Flyway.configure().dataSource(url, user, password)
+                    .locations("classpath:db/migration/" + System.getProperty("bench.vendor", "h2"))
+                    .load().migrate();
+        }
+
+        try (Connection c = DriverManager.getConnection(url, user, password)) {
+            c.setAutoCommit(false);
+            if (Boolean.getBoolean("bench.dropIndex")) {
+                try (Statement st = c.createStatement()) {
+                    st.execute("DROP INDEX idx_event_outbox_processable");
+                }
+                c.commit();
+            }
+            // 활성 집합은 SENT 행보다 나중에 생성된 것처럼 보이도록 미래 시각으로 둡니다(정렬 비용이 커지는 최악 조건).
+            insertRows(c, activeRows, "PENDING", Instant.now().plusSeconds(3600));
+
+            System.out.printf("%-12s %-10s %-10s %-10s %-10s%n", "sentRows", "avg(us)", "p50(us)", "p99(us)", "rows");
+            long inserted = 0;
+            for (long target : steps) {
+                while (inserted < target) {
+                    int n = (int) Math.min(INSERT_BATCH, target - inserted);
+                    insertRows(c, n, "SENT", Instant.now().minusSeconds(86_400));
+                    inserted += n;
+                }
+                measure(c, inserted, batchSize, iterations);
+            }
+            printPlan(c, batchSize);
+        }
+    }
+
+    private static void insertRows(Connection c, int count, String status, Instant createdAt) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement(INSERT_SQL)) {
+            OffsetDateTime ts = createdAt.atOffset(ZoneOffset.UTC);
+            for (int i = 0; i < count; i++) {
+                ps.setString(1, "user-" + (i % 1000));
+                ps.setBytes(2, ENVELOPE);
+                ps.setString(3, status);
+                ps.setObject(4, ts, Types.TIMESTAMP_WITH_TIMEZONE);
+                ps.setObject(5, ts, Types.TIMESTAMP_WITH_TIMEZONE);
+                ps.setObject(6, "SENT".equals(status) ? ts : null, Types.TIMESTAMP_WITH_TIMEZONE);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        c.commit();
+    }
+
+    private static void measure(Connection c, long sentRows, int batchSize, int iterations) throws Exception {
+        long[] samples = new long[iterations];
+        int rows = 0;
+        try (PreparedStatement ps = c.prepareStatement(POLL_SQL)) {
+            for (int i = 0; i < iterations * 2; i++) {
+                Timestamp now = Timestamp.from(Instant.now());
+                ps.setTimestamp(1, now);
+                ps.setTimestamp(2, now);
+                ps.setInt(3, batchSize);
+                long start = System.nanoTime();
+                rows = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getBytes(7);
+                        rows++;
+                    }
+                }
+                long took = System.nanoTime() - start;
+                // 앞쪽 절반은 워밍업
+                if (i >= iterations) samples[i - iterations] = took;
+            }
+        }
+        c.commit();
+        Arrays.sort(samples);
+        long avg = (long) Arrays.stream(samples).average().orElse(0);
+        System.out.printf("%-12d %-10d %-10d %-10d %-10d%n", sentRows, avg / 1000,
+                samples[samples.length / 2] / 1000, samples[(int) (samples.length * 0.99)] / 1000, rows);
+    }
+
+    private static void printPlan(Connection c, int batchSize) throws Exception {
+        String explain = POLL_SQL.replace("?", "CURRENT_TIMESTAMP").replace("LIMIT CURRENT_TIMESTAMP", "LIMIT " + batchSize);
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("EXPLAIN " + explain)) {
+            System.out.println("-- plan");
+            while (rs.next()) System.out.println(rs.getString(1));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package deser;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Envelope 본문 인코딩 방식(SPI)
+ * - 프로듀서는 contentType()을 메시지 헤더(X-Content-Type)와 Outbox 행(content_type)에 기록하고,
+ *   컨슈머는 같은 값으로 디코더를 고릅니다. 양쪽을 따로 업그레이드할 수 있도록 디코더는 모든 코덱을 알고 있어야 합니다.
+ * - 디코딩은 Jackson 스트리밍 파서로 추상화합니다. 바인딩(ObjectReader)은 포맷과 무관하므로
+ *   EnvelopeDeserializer/EventPayloadRegistry의 리더를 그대로 재사용합니다.
+ * - 추가 코덱은 EnvelopeCodec 빈으로 등록하면 EnvelopeCodecs에 포함됩니다.
+ */
+public interface EnvelopeCodec {
+
+    /** 코덱 식별자(MIME 타입, 예: application/json) */
+    String contentType();
+
+    /** Envelope → 본문 바이트 */
+    byte[] encode(Object envelope) throws IOException;
+
+    /** 본문 바이트를 읽는 파서(호출자가 닫음) */
+    JsonParser parser(byte[] body) throws IOException;
+
+    /**
+     * 스트림을 읽는 파서(압축 해제 스트림 등, 파서를 닫으면 스트림도 닫힘)
+     * - 기본 구현은 전체를 읽어 parser(byte[])에 넘깁니다. Jackson 포맷 코덱은 스트림을 직접 읽도록 재정의합니다.
+     */
+    default JsonParser parser(InputStream in) throws IOException {
+        try (in) {
+            return parser(in.readAllBytes());
+        }
+    }
+}
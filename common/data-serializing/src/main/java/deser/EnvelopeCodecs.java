@@ -0,0 +1,89 @@
+package deser;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용 가능한 EnvelopeCodec 모음
+ * - producer(): 발행 시 사용할 코덱(messaging.codec.content-type)
+ * - forContentType(): 수신 메시지의 content type으로 디코더 선택. 값이 없거나 모르는 타입이면 JSON으로 읽습니다
+ *   (헤더가 없던 이전 프로듀서, Rabbit 기본값 application/octet-stream 등).
+ * - maxDecompressedBytes(): gzip 본문 해제 크기 상한(messaging.codec.max-decompressed-bytes, EnvelopeCompression 참고)
+ */
+public class EnvelopeCodecs {
+
+    /** gzip 본문 해제 크기 기본 상한(16 MiB) */
+    public static final long DEFAULT_MAX_DECOMPRESSED_BYTES = 16L * 1024 * 1024;
+
+    private final Map<String, EnvelopeCodec> byContentType = new HashMap<>();
+    private final EnvelopeCodec json;
+    private final EnvelopeCodec producer;
+    private final long maxDecompressedBytes;
+
+    /**
+     * @param json JSON 코덱(기본/대체 디코더)
+     * @param others 추가 코덱(같은 content type이면 나중 것이 우선)
+     * @param producerContentType 발행에 사용할 코덱의 content type(null이면 JSON)
+     */
+    public EnvelopeCodecs(EnvelopeCodec json, Collection<? extends EnvelopeCodec> others, String producerContentType) {
+        this(json, others, producerContentType, DEFAULT_MAX_DECOMPRESSED_BYTES);
+    }
+
+    /**
+     * @param maxDecompressedBytes gzip 본문 해제 크기 상한(0보다 커야 함)
+     */
+    public EnvelopeCodecs(EnvelopeCodec json, Collection<? extends EnvelopeCodec> others, String producerContentType,
+                          long maxDecompressedBytes) {
+        if (maxDecompressedBytes <= 0) {
+            throw new IllegalArgumentException("maxDecompressedBytes must be positive: " + maxDecompressedBytes);
+        }
+        this.maxDecompressedBytes = maxDecompressedBytes;
+        this.json = json;
+        byContentType.put(json.contentType(), json);
+        for (EnvelopeCodec codec : others) {
+            byContentType.put(codec.contentType(), codec);
+        }
+        if (producerContentType == null || producerContentType.isBlank()) {
+            this.producer = json;
+        } else {
+            EnvelopeCodec codec = byContentType.get(producerContentType.trim());
+            if (codec == null) {
+                throw new IllegalArgumentException("Unknown envelope content type: " + producerContentType
+                        + " (available: " + byContentType.keySet() + ")");
+            }
+            this.producer = codec;
+        }
+    }
+
+    /** JSON 코덱 하나만 사용하는 구성 */
+    public static EnvelopeCodecs jsonOnly(EnvelopeCodec json) {
+        return new EnvelopeCodecs(json, List.of(), null);
+    }
+
+    public EnvelopeCodec producer() {
+        return producer;
+    }
+
+    public EnvelopeCodec json() {
+        return json;
+    }
+
+    public long maxDecompressedBytes() {
+        return maxDecompressedBytes;
+    }
+
+    /** content type(파라미터 허용, 예: application/json; charset=UTF-8) → 디코더 */
+    public EnvelopeCodec forContentType(String contentType) {
+        if (contentType == null) return json;
+        EnvelopeCodec codec = byContentType.get(contentType);
+        if (codec != null) return codec;
+        int semi = contentType.indexOf(';');
+        if (semi >= 0) {
+            codec = byContentType.get(contentType.substring(0, semi).trim());
+            if (codec != null) return codec;
+        }
+        return json;
+    }
+}
@@ -0,0 +1,127 @@
+package deser;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Envelope 본문 압축(gzip, JDK 내장)
+ * - 프로듀서는 코덱으로 인코딩한 본문이 임계값(messaging.codec.compression-threshold-bytes)보다 클 때만 압축하고,
+ *   Outbox 행(content_encoding)과 메시지 헤더(X-Content-Encoding)에 gzip을 기록합니다.
+ * - 디코딩은 헤더가 아니라 본문의 gzip 매직 바이트(1f 8b)로 판단합니다. JSON('{')/Smile(':)')과 겹치지 않으므로
+ *   헤더가 빠진 메시지(DLQ 재처리 등)도 그대로 읽을 수 있습니다.
+ * - parser(...)는 압축 해제 스트림을 코덱 파서에 바로 연결합니다(헤더 추출처럼 한 번만 읽는 경우).
+ * - decompress(...)는 같은 본문을 여러 번 파싱해야 하는 경우(역직렬화 + 실패 시 대체 파싱) 한 번만 풀어 둡니다.
+ * - 해제된 크기는 상한(messaging.codec.max-decompressed-bytes)을 넘으면 IOException으로 중단합니다.
+ *   작은 압축 본문이 수 GB로 풀리는 메시지(zip bomb)가 컨슈머 메모리/CPU를 소진하지 못하게 합니다.
+ */
+public final class EnvelopeCompression {
+
+    public static final String GZIP = "gzip";
+
+    private static final int GZIP_MAGIC_0 = 0x1f;
+    private static final int GZIP_MAGIC_1 = 0x8b;
+
+    private EnvelopeCompression() {
+    }
+
+    /** 본문이 gzip 스트림인지(매직 바이트) */
+    public static boolean isGzip(byte[] body) {
+        return body != null && body.length >= 2
+                && (body[0] & 0xff) == GZIP_MAGIC_0 && (body[1] & 0xff) == GZIP_MAGIC_1;
+    }
+
+    /**
+     * gzip 압축(발행 지연을 고려해 BEST_SPEED)
+     * @return 압축 결과. 원본보다 작지 않으면 null(호출자는 원본을 그대로 사용)
+     */
+    public static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 2));
+        try (OutputStream gz = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        }) {
+            gz.write(body);
+        }
+        return out.size() < body.length ? out.toByteArray() : null;
+    }
+
+    /**
+     * 본문을 읽는 코덱 파서(gzip 본문이면 압축 해제 스트림 위에서 읽음, 호출자가 닫음)
+     * @param maxDecompressedBytes gzip 본문의 해제 크기 상한. 넘으면 파싱 중 IOException이 발생합니다.
+     */
+    public static JsonParser parser(EnvelopeCodec codec, byte[] body, long maxDecompressedBytes) throws IOException {
+        if (isGzip(body)) {
+            return codec.parser(new BoundedInputStream(new GZIPInputStream(new ByteArrayInputStream(body), 8192), maxDecompressedBytes));
+        }
+        return codec.parser(body);
+    }
+
+    /**
+     * gzip 본문이면 상한 안에서 한 번 풀어 반환하고, 아니면 본문을 그대로 반환합니다.
+     * @param maxDecompressedBytes 해제 크기 상한. 넘으면 IOException
+     */
+    public static byte[] decompress(byte[] body, long maxDecompressedBytes) throws IOException {
+        if (!isGzip(body)) return body;
+        int initial = (int) Math.min(maxDecompressedBytes, Math.min(Integer.MAX_VALUE - 8, (long) body.length * 4));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, initial));
+        try (InputStream in = new BoundedInputStream(new GZIPInputStream(new ByteArrayInputStream(body), 8192), maxDecompressedBytes)) {
+            in.transferTo(out);
+        }
+        return out.toByteArray();
+    }
+
+    /** 읽은 바이트 수가 상한을 넘으면 IOException을 던지는 스트림 */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) advance(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) advance(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) advance(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void advance(long n) throws IOException {
+            count += n;
+            if (count > limit) {
+                throw new IOException("Decompressed envelope exceeds " + limit + " bytes");
+            }
+        }
+    }
+}
@@ -1,54 +1,191 @@
 package deser;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.inframessaging.playground.messaging.api.Envelope;
-import lombok.RequiredArgsConstructor;
+import com.inframessaging.playground.messaging.api.ProducerInfo;
+import com.inframessaging.playground.messaging.api.Routing;
+import com.inframessaging.playground.messaging.api.TraceInfo;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Map;
 
 /**
  * Envelope 역직렬화 유틸리티
- * - JSON 문자열에서 Envelope<T>로 역직렬화합니다.
+ * - JSON(문자열 또는 UTF-8 바이트)에서 Envelope<T>로 역직렬화합니다.
+ * - 바이트 본문은 content type(X-Content-Type)으로 EnvelopeCodec을 골라 읽습니다(JSON, Smile 등, 없으면 JSON).
+ * - gzip으로 압축된 본문은 매직 바이트로 알아보고 상한(messaging.codec.max-decompressed-bytes) 안에서 한 번만 풀어
+ *   본 파싱과 실패 시 대체 파싱이 같은 바이트를 읽습니다(EnvelopeCompression).
  * - EventPayloadRegistry에 (type, version) 매핑이 있으면 해당 T로, 없으면 Map으로 payload를 파싱합니다.
+ * - 스트리밍 파서로 한 번만 읽습니다. 메타 필드를 먼저 읽고, payload에 도달하면 이미 읽은 type/version으로
+ *   대상 타입을 정해 하위 트리를 바로 바인딩합니다(중간 Map/트리를 만들지 않음).
+ * - payload가 type/version보다 앞에 오는 문서만 payload 토큰을 TokenBuffer에 담아 두었다가 끝에서 바인딩합니다.
+ * - 메타 필드/Map payload용 ObjectReader는 생성 시 한 번 만들고, 등록 payload는 레지스트리의 ObjectReader를 씁니다
+ *   (메시지마다 JavaType 생성/역직렬화기 캐시 조회를 하지 않음).
  */
 @Slf4j
-@RequiredArgsConstructor
 public class EnvelopeDeserializer {
 
     private final ObjectMapper objectMapper;
     private final EventPayloadRegistry registry;
+    private final EnvelopeCodecs codecs;
+
+    private final ObjectReader instantReader;
+    private final ObjectReader producerReader;
+    private final ObjectReader traceReader;
+    private final ObjectReader routingReader;
+    private final ObjectReader mapReader;
+    private final ObjectReader valueReader;
+    private final ObjectReader stringPayloadReader;
+
+    /** JSON만 읽는 구성 */
+    public EnvelopeDeserializer(ObjectMapper objectMapper, EventPayloadRegistry registry) {
+        this(objectMapper, registry, EnvelopeCodecs.jsonOnly(new JsonEnvelopeCodec(objectMapper)));
+    }
+
+    public EnvelopeDeserializer(ObjectMapper objectMapper, EventPayloadRegistry registry, EnvelopeCodecs codecs) {
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.codecs = codecs;
+        this.instantReader = objectMapper.readerFor(Instant.class);
+        this.producerReader = objectMapper.readerFor(ProducerInfo.class);
+        this.traceReader = objectMapper.readerFor(TraceInfo.class);
+        this.routingReader = objectMapper.readerFor(Routing.class);
+        this.mapReader = objectMapper.readerFor(Map.class);
+        this.valueReader = objectMapper.readerFor(Object.class);
+        this.stringPayloadReader = objectMapper.readerFor(
+                objectMapper.getTypeFactory().constructParametricType(Envelope.class, String.class));
+    }
 
     /** JSON → Envelope<T or Map> */
     public Envelope<?> deserialize(String json) {
-        try {
-            // 먼저 type/version만 빠르게 파싱하기보다는, JavaType을 동적으로 생성하여 바로 시도합니다.
-            // 레지스트리에 매핑이 없는 경우를 대비해 Map payload 타입으로 fallback합니다.
-            // 1) Map payload 타입으로 파싱해서 type/version을 확인
-            Envelope<Map<String, Object>> prelim = objectMapper.readValue(json, new TypeReference<Envelope<Map<String, Object>>>() {});
-            String type = prelim.getType();
-            int version = prelim.getVersion();
-            Class<?> payloadClass = registry.find(type, version);
-            if (payloadClass == null) {
-                return prelim; // 등록이 없으면 Map payload 유지
-            }
-            // 2) 매핑된 payloadClass로 재파싱
-            TypeFactory tf = objectMapper.getTypeFactory();
-            var javaType = tf.constructParametricType(Envelope.class, payloadClass);
-            return objectMapper.readValue(json, javaType);
+        try (JsonParser p = objectMapper.createParser(json)) {
+            return read(p);
         } catch (Exception e) {
             log.warn("Envelope deserialize failed, fallback to raw string payload. error={}", e.getMessage());
             // 최후의 수단: payload를 문자열로 유지
             try {
-                TypeFactory tf = objectMapper.getTypeFactory();
-                var javaType = tf.constructParametricType(Envelope.class, String.class);
-                return objectMapper.readValue(json, javaType);
+                return stringPayloadReader.readValue(json);
             } catch (Exception ignored) {
                 // 정말 불가하면 null 반환(컨슈머에서 별도 처리)
                 return null;
             }
         }
     }
+
+    /** UTF-8 JSON 바이트 → Envelope<T or Map> (브로커 본문을 String으로 바꾸지 않고 바로 파싱) */
+    public Envelope<?> deserialize(byte[] json) {
+        return decode(codecs.json(), json, false, null);
+    }
+
+    /**
+     * payload 타입을 이미 정한 경우(메시지 헤더 등)의 역직렬화
+     * - 본문의 type/version 위치와 무관하게 payload를 만나는 즉시 binding으로 바인딩합니다(TokenBuffer 불필요).
+     * @param binding 적용할 payload 바인딩(null이면 미등록 이벤트로 보고 Map payload)
+     */
+    public Envelope<?> deserialize(byte[] json, EventPayloadRegistry.PayloadBinding binding) {
+        return decode(codecs.json(), json, true, binding);
+    }
+
+    /** content type(X-Content-Type)에 맞는 코덱으로 본문 → Envelope (payload 타입은 본문의 type/version으로 결정) */
+    public Envelope<?> deserialize(byte[] body, String contentType) {
+        return decode(codecs.forContentType(contentType), body, false, null);
+    }
+
+    /** content type에 맞는 코덱 + 미리 정한 payload 바인딩으로 본문 → Envelope */
+    public Envelope<?> deserialize(byte[] body, String contentType, EventPayloadRegistry.PayloadBinding binding) {
+        return decode(codecs.forContentType(contentType), body, true, binding);
+    }
+
+    private Envelope<?> decode(EnvelopeCodec codec, byte[] body, boolean resolved, EventPayloadRegistry.PayloadBinding binding) {
+        byte[] raw;
+        try {
+            raw = EnvelopeCompression.decompress(body, codecs.maxDecompressedBytes());
+        } catch (IOException e) {
+            // 손상되었거나 상한을 넘는 압축 본문은 대체 파싱 없이 실패로 처리합니다.
+            log.warn("Envelope decompress failed. contentType={} error={}", codec.contentType(), e.getMessage());
+            return null;
+        }
+        try (JsonParser p = codec.parser(raw)) {
+            return read(p, resolved, binding);
+        } catch (Exception e) {
+            log.warn("Envelope deserialize failed, fallback to raw string payload. contentType={} error={}", codec.contentType(), e.getMessage());
+            // 최후의 수단: payload를 문자열로 유지
+            try (JsonParser p = codec.parser(raw)) {
+                return stringPayloadReader.readValue(p);
+            } catch (Exception ignored) {
+                return null;
+            }
+        }
+    }
+
+    private Envelope<?> read(JsonParser p) throws IOException {
+        return read(p, false, null);
+    }
+
+    /**
+     * @param resolved true면 payload 바인딩이 호출자에 의해 이미 결정됨(binding 사용), false면 본문의 type/version으로 결정
+     */
+    private Envelope<?> read(JsonParser p, boolean resolved, EventPayloadRegistry.PayloadBinding binding) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(p, "Envelope must be a JSON object");
+        }
+        Envelope<Object> env = new Envelope<>();
+        boolean versionSeen = false;
+        TokenBuffer bufferedPayload = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> env.setId(p.getValueAsString());
+                case "type" -> env.setType(p.getValueAsString());
+                case "version" -> {
+                    env.setVersion(p.getValueAsInt());
+                    versionSeen = true;
+                }
+                case "occurredAt" -> env.setOccurredAt(instantReader.readValue(p));
+                case "producer" -> env.setProducer(producerReader.readValue(p));
+                case "trace" -> env.setTrace(traceReader.readValue(p));
+                case "routing" -> env.setRouting(routingReader.readValue(p));
+                case "payload" -> {
+                    if (resolved) {
+                        env.setPayload(readPayload(p, binding));
+                    } else if (env.getType() != null && versionSeen) {
+                        env.setPayload(readPayload(p, registry.binding(env.getType(), env.getVersion())));
+                    } else {
+                        bufferedPayload = new TokenBuffer(p);
+                        bufferedPayload.copyCurrentStructure(p);
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+        if (bufferedPayload != null) {
+            try (JsonParser bp = bufferedPayload.asParser(objectMapper)) {
+                bp.nextToken();
+                env.setPayload(readPayload(bp, registry.binding(env.getType(), env.getVersion())));
+            }
+        }
+        return env;
+    }
+
+    /**
+     * 현재 토큰 위치의 payload 값을 바인딩합니다.
+     * - 등록 타입이 없으면 객체는 Map, 그 외(문자열/숫자/배열)는 기본 Java 타입으로 둡니다.
+     */
+    private Object readPayload(JsonParser p, EventPayloadRegistry.PayloadBinding binding) throws IOException {
+        if (binding != null) {
+            return binding.reader().readValue(p);
+        }
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            return mapReader.readValue(p);
+        }
+        return valueReader.readValue(p);
+    }
 }
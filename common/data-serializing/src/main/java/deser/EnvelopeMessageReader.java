@@ -0,0 +1,93 @@
+package deser;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.EventHeaders;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 컨슈머 진입점: 브로커 메시지 → Envelope
+ * - 프로듀서가 모든 메시지에 싣는 X-Event-Type / X-Event-Version 헤더로 payload 타입을 먼저 고른 뒤
+ *   본문(byte[])을 한 번에 바인딩합니다.
+ * - handles(...)는 헤더만 보고 이 서비스가 등록한 이벤트인지 판단하므로, 처리하지 않는 이벤트는 본문을 파싱하지 않고 건너뛸 수 있습니다.
+ * - 헤더가 없거나 잘못된 메시지(이전 프로듀서 등)는 본문의 type/version 기준 역직렬화로 처리합니다.
+ * - 디코더는 X-Content-Type 헤더(Rabbit은 없으면 contentType 속성)로 고르며, 값이 없으면 JSON입니다.
+ */
+@RequiredArgsConstructor
+public class EnvelopeMessageReader {
+
+    private final EnvelopeDeserializer deserializer;
+    private final EventPayloadRegistry registry;
+
+    /** Kafka 레코드(값 역직렬화기: ByteArrayDeserializer) → Envelope. 실패 시 null */
+    public Envelope<?> read(ConsumerRecord<?, byte[]> record) {
+        Headers headers = record.headers();
+        return read(record.value(), header(headers, EventHeaders.CONTENT_TYPE),
+                header(headers, EventHeaders.EVENT_TYPE), header(headers, EventHeaders.EVENT_VERSION));
+    }
+
+    /** Rabbit 메시지 → Envelope. 실패 시 null */
+    public Envelope<?> read(Message message) {
+        MessageProperties props = message.getMessageProperties();
+        String contentType = header(props, EventHeaders.CONTENT_TYPE);
+        return read(message.getBody(), contentType != null ? contentType : props.getContentType(),
+                header(props, EventHeaders.EVENT_TYPE), header(props, EventHeaders.EVENT_VERSION));
+    }
+
+    /**
+     * 헤더의 (type, version)이 레지스트리에 등록되어 있는지 확인합니다(본문 파싱 없음).
+     * - 헤더가 없으면 본문을 봐야 알 수 있으므로 true를 반환합니다.
+     */
+    public boolean handles(ConsumerRecord<?, byte[]> record) {
+        return handles(header(record.headers(), EventHeaders.EVENT_TYPE), header(record.headers(), EventHeaders.EVENT_VERSION));
+    }
+
+    /** Rabbit 메시지용 handles */
+    public boolean handles(Message message) {
+        MessageProperties props = message.getMessageProperties();
+        return handles(header(props, EventHeaders.EVENT_TYPE), header(props, EventHeaders.EVENT_VERSION));
+    }
+
+    private boolean handles(String type, String version) {
+        int v = parseVersion(version);
+        if (type == null || v < 0) return true;
+        return registry.binding(type, v) != null;
+    }
+
+    private Envelope<?> read(byte[] body, String contentType, String type, String version) {
+        int v = parseVersion(version);
+        if (type == null || v < 0) {
+            return deserializer.deserialize(body, contentType);
+        }
+        return deserializer.deserialize(body, contentType, registry.binding(type, v));
+    }
+
+    private static String header(Headers headers, String name) {
+        Header h = headers.lastHeader(name);
+        return h == null || h.value() == null ? null : new String(h.value(), StandardCharsets.UTF_8);
+    }
+
+    private static String header(MessageProperties props, String name) {
+        // Rabbit 클라이언트는 문자열 헤더를 LongString으로 돌려주므로 toString으로 맞춥니다.
+        Object value = props.getHeader(name);
+        return value == null ? null : value.toString();
+    }
+
+    /** 음이 아닌 10진 정수만 허용(예외 없이), 그 외는 -1 */
+    private static int parseVersion(String s) {
+        if (s == null || s.isEmpty() || s.length() > 9) return -1;
+        int v = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+}
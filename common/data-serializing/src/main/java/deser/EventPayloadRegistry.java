@@ -1,6 +1,9 @@
 package deser;
 
-import java.util.Objects;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -8,24 +11,45 @@ import java.util.concurrent.ConcurrentMap;
  * 이벤트 payload 역직렬화를 위한 타입/버전 → 클래스 매핑 레지스트리
  * - 서비스가 부팅 시 자신의 이벤트를 등록하여 수신 측에서 구체 타입으로 역직렬화할 수 있게 합니다.
  * - 등록이 없으면 컨슈머는 Map/JsonNode 등으로 처리할 수 있습니다.
+ * - 등록 시점에 payload 클래스용 ObjectReader(스레드 안전, 루트 역직렬화기 미리 준비)를 만들어 둡니다.
+ * - 조회는 type → 버전 인덱스 배열이라 메시지마다 키 객체를 만들지 않습니다. 배열은 등록 시 복사 후 교체합니다.
  */
 public class EventPayloadRegistry {
 
-    private final ConcurrentMap<Key, Class<?>> registry = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    /** type → version 인덱스의 바인딩 배열(빈 칸은 null) */
+    private final ConcurrentMap<String, PayloadBinding[]> registry = new ConcurrentHashMap<>();
+
+    public EventPayloadRegistry(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
 
     public void register(String type, int version, Class<?> payloadClass) {
-        if (type == null || payloadClass == null) return;
-        registry.put(new Key(type, version), payloadClass);
+        if (type == null || payloadClass == null || version < 0) return;
+        PayloadBinding binding = new PayloadBinding(payloadClass, objectMapper.readerFor(payloadClass));
+        registry.compute(type, (t, current) -> {
+            PayloadBinding[] next = current == null
+                    ? new PayloadBinding[version + 1]
+                    : Arrays.copyOf(current, Math.max(current.length, version + 1));
+            next[version] = binding;
+            return next;
+        });
     }
 
     public Class<?> find(String type, int version) {
-        if (type == null) return null;
-        return registry.get(new Key(type, version));
+        PayloadBinding binding = binding(type, version);
+        return binding == null ? null : binding.payloadClass();
+    }
+
+    /** 등록된 payload 클래스와 미리 만든 ObjectReader(없으면 null) */
+    public PayloadBinding binding(String type, int version) {
+        if (type == null || version < 0) return null;
+        PayloadBinding[] versions = registry.get(type);
+        if (versions == null || version >= versions.length) return null;
+        return versions[version];
     }
 
-    private record Key(String type, int version) {
-        Key {
-            Objects.requireNonNull(type);
-        }
+    /** (type, version)에 등록된 payload 클래스와 그 클래스 전용 ObjectReader */
+    public record PayloadBinding(Class<?> payloadClass, ObjectReader reader) {
     }
 }
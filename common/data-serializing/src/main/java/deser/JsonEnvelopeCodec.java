@@ -0,0 +1,44 @@
+package deser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * UTF-8 JSON 코덱(기본값, 헤더가 없는 이전 메시지도 이 코덱으로 읽습니다)
+ */
+public class JsonEnvelopeCodec implements EnvelopeCodec {
+
+    public static final String CONTENT_TYPE = "application/json";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    public JsonEnvelopeCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer();
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(Object envelope) throws IOException {
+        return writer.writeValueAsBytes(envelope);
+    }
+
+    @Override
+    public JsonParser parser(byte[] body) throws IOException {
+        return objectMapper.createParser(body);
+    }
+
+    @Override
+    public JsonParser parser(InputStream in) throws IOException {
+        return objectMapper.createParser(in);
+    }
+}
@@ -0,0 +1,47 @@
+package deser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Jackson Smile(바이너리 JSON) 코덱
+ * - 필드 이름/반복 문자열을 백참조로 공유하고 숫자를 이진으로 담아 JSON보다 작고, 텍스트 토큰화가 없어 디코딩이 빠릅니다.
+ * - 기준 ObjectMapper의 모듈/설정(JavaTimeModule, 날짜 형식 등)을 그대로 복사해 JSON과 같은 값 모델을 유지합니다.
+ */
+public class SmileEnvelopeCodec implements EnvelopeCodec {
+
+    public static final String CONTENT_TYPE = "application/x-jackson-smile";
+
+    private final ObjectMapper smileMapper;
+    private final ObjectWriter writer;
+
+    public SmileEnvelopeCodec(ObjectMapper baseMapper) {
+        this.smileMapper = baseMapper.copyWith(new SmileFactory());
+        this.writer = smileMapper.writer();
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(Object envelope) throws IOException {
+        return writer.writeValueAsBytes(envelope);
+    }
+
+    @Override
+    public JsonParser parser(byte[] body) throws IOException {
+        return smileMapper.createParser(body);
+    }
+
+    @Override
+    public JsonParser parser(InputStream in) throws IOException {
+        return smileMapper.createParser(in);
+    }
+}
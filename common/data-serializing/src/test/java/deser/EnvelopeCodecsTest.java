@@ -0,0 +1,143 @@
+package deser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.Routing;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EnvelopeCodecsTest {
+
+    record UserRegistered(String userId, String email) {
+    }
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final JsonEnvelopeCodec json = new JsonEnvelopeCodec(objectMapper);
+    private final SmileEnvelopeCodec smile = new SmileEnvelopeCodec(objectMapper);
+    private final EnvelopeCodecs codecs = new EnvelopeCodecs(json, List.of(smile), null);
+
+    @Test
+    void defaultsToJsonWithoutContentType() {
+        assertThat(codecs.forContentType(null)).isSameAs(json);
+        assertThat(codecs.json()).isSameAs(json);
+    }
+
+    @Test
+    void fallsBackToJsonForUnknownContentType() {
+        assertThat(codecs.forContentType("application/octet-stream")).isSameAs(json);
+        assertThat(codecs.forContentType("")).isSameAs(json);
+        assertThat(codecs.forContentType("text/plain; charset=UTF-8")).isSameAs(json);
+    }
+
+    @Test
+    void selectsCodecByContentType() {
+        assertThat(codecs.forContentType(JsonEnvelopeCodec.CONTENT_TYPE)).isSameAs(json);
+        assertThat(codecs.forContentType(SmileEnvelopeCodec.CONTENT_TYPE)).isSameAs(smile);
+    }
+
+    @Test
+    void ignoresContentTypeParameters() {
+        assertThat(codecs.forContentType("application/json; charset=UTF-8")).isSameAs(json);
+        assertThat(codecs.forContentType(SmileEnvelopeCodec.CONTENT_TYPE + " ;v=1")).isSameAs(smile);
+    }
+
+    @Test
+    void producerDefaultsToJson() {
+        assertThat(codecs.producer()).isSameAs(json);
+        assertThat(new EnvelopeCodecs(json, List.of(smile), " ").producer()).isSameAs(json);
+        assertThat(EnvelopeCodecs.jsonOnly(json).producer()).isSameAs(json);
+    }
+
+    @Test
+    void producerSelectsConfiguredContentType() {
+        assertThat(new EnvelopeCodecs(json, List.of(smile), SmileEnvelopeCodec.CONTENT_TYPE).producer()).isSameAs(smile);
+        assertThat(new EnvelopeCodecs(json, List.of(smile), " " + SmileEnvelopeCodec.CONTENT_TYPE + " ").producer()).isSameAs(smile);
+    }
+
+    @Test
+    void rejectsUnknownProducerContentType() {
+        assertThatThrownBy(() -> new EnvelopeCodecs(json, List.of(smile), "application/cbor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("application/cbor");
+    }
+
+    @Test
+    void jsonOnlyReadsSmileContentTypeAsJson() {
+        assertThat(EnvelopeCodecs.jsonOnly(json).forContentType(SmileEnvelopeCodec.CONTENT_TYPE)).isSameAs(json);
+    }
+
+    @Test
+    void laterCodecWinsForSameContentType() {
+        EnvelopeCodec override = new JsonEnvelopeCodec(objectMapper);
+
+        assertThat(new EnvelopeCodecs(json, List.of(override), null).forContentType(JsonEnvelopeCodec.CONTENT_TYPE)).isSameAs(override);
+    }
+
+    @Test
+    void jsonRoundTrip() throws IOException {
+        assertRoundTrip(json);
+    }
+
+    @Test
+    void smileRoundTrip() throws IOException {
+        assertRoundTrip(smile);
+    }
+
+    @Test
+    void smileBodyIsNotJson() throws IOException {
+        byte[] body = smile.encode(envelope());
+
+        // Smile 헤더(":)\n")로 시작하며 JSON 코덱으로는 읽히지 않습니다.
+        assertThat(new String(body, 0, 3, StandardCharsets.ISO_8859_1)).isEqualTo(":)\n");
+        assertThat(deserializer().deserialize(body, JsonEnvelopeCodec.CONTENT_TYPE)).isNull();
+    }
+
+    @Test
+    void parserReadsEncodedTokensForEachCodec() throws IOException {
+        for (EnvelopeCodec codec : List.of(json, smile)) {
+            try (JsonParser p = codec.parser(codec.encode(Map.of("type", "UserRegistered")))) {
+                assertThat(objectMapper.readValue(p, Map.class)).isEqualTo(Map.of("type", "UserRegistered"));
+            }
+        }
+    }
+
+    private void assertRoundTrip(EnvelopeCodec codec) throws IOException {
+        Envelope<UserRegistered> original = envelope();
+
+        Envelope<?> decoded = deserializer().deserialize(codec.encode(original), codec.contentType());
+
+        assertThat(decoded).isEqualTo(original);
+    }
+
+    private EnvelopeDeserializer deserializer() {
+        EventPayloadRegistry registry = new EventPayloadRegistry(objectMapper);
+        registry.register("UserRegistered", 1, UserRegistered.class);
+        return new EnvelopeDeserializer(objectMapper, registry, codecs);
+    }
+
+    private static Envelope<UserRegistered> envelope() {
+        return Envelope.<UserRegistered>builder()
+                .id("01J0000000000000000000000")
+                .type("UserRegistered")
+                .version(1)
+                .occurredAt(Instant.parse("2025-01-01T00:00:00.123456Z"))
+                .routing(Routing.builder()
+                        .broker(BrokerType.KAFKA)
+                        .kafka(Routing.Kafka.builder().topic("user.v1").key("u-1").build())
+                        .build())
+                .payload(new UserRegistered("u-1", "사용자-1@example.com"))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package deser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.api.Envelope;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EnvelopeCompressionTest {
+
+    record Bulk(String value) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonEnvelopeCodec json = new JsonEnvelopeCodec(objectMapper);
+
+    @Test
+    void gzipRoundTripsThroughParser() throws IOException {
+        byte[] body = largeJson(4096);
+        byte[] compressed = EnvelopeCompression.gzip(body);
+
+        assertThat(compressed).isNotNull();
+        assertThat(EnvelopeCompression.isGzip(compressed)).isTrue();
+        assertThat(EnvelopeCompression.isGzip(body)).isFalse();
+        try (JsonParser p = EnvelopeCompression.parser(json, compressed, body.length)) {
+            JsonNode decoded = objectMapper.readTree(p);
+            assertThat(decoded).isEqualTo(objectMapper.readTree(body));
+        }
+    }
+
+    @Test
+    void rejectsBodyDecompressingPastLimit() throws IOException {
+        byte[] body = largeJson(1 << 20);
+        byte[] compressed = EnvelopeCompression.gzip(body);
+
+        assertThat(compressed.length).isLessThan(body.length / 100);
+        assertThatThrownBy(() -> {
+            try (JsonParser p = EnvelopeCompression.parser(json, compressed, body.length - 1)) {
+                objectMapper.readTree(p);
+            }
+        }).isInstanceOf(IOException.class).hasMessageContaining("exceeds " + (body.length - 1) + " bytes");
+    }
+
+    @Test
+    void limitAppliesOnlyToCompressedBodies() throws IOException {
+        byte[] body = largeJson(4096);
+
+        try (JsonParser p = EnvelopeCompression.parser(json, body, 1)) {
+            JsonNode decoded = objectMapper.readTree(p);
+            assertThat(decoded.get("payload").asText()).hasSize(4096);
+        }
+    }
+
+    @Test
+    void deserializerReturnsNullWhenLimitExceeded() throws IOException {
+        byte[] compressed = EnvelopeCompression.gzip(largeJson(1 << 20));
+        EnvelopeDeserializer deserializer = new EnvelopeDeserializer(objectMapper, new EventPayloadRegistry(objectMapper),
+                new EnvelopeCodecs(json, List.of(), null, 64 * 1024));
+
+        assertThat(deserializer.deserialize(compressed, JsonEnvelopeCodec.CONTENT_TYPE)).isNull();
+    }
+
+    @Test
+    void decompressReturnsUncompressedBodyAsIs() throws IOException {
+        byte[] body = largeJson(16);
+
+        assertThat(EnvelopeCompression.decompress(body, 1)).isSameAs(body);
+    }
+
+    @Test
+    void decompressRoundTripsWithinLimit() throws IOException {
+        byte[] body = largeJson(4096);
+
+        assertThat(EnvelopeCompression.decompress(EnvelopeCompression.gzip(body), body.length)).isEqualTo(body);
+    }
+
+    @Test
+    void decompressRejectsBodyPastLimit() throws IOException {
+        byte[] body = largeJson(1 << 20);
+        byte[] compressed = EnvelopeCompression.gzip(body);
+
+        assertThatThrownBy(() -> EnvelopeCompression.decompress(compressed, body.length - 1))
+                .isInstanceOf(IOException.class).hasMessageContaining("exceeds " + (body.length - 1) + " bytes");
+    }
+
+    @Test
+    void deserializerFallsBackOnCompressedBody() throws IOException {
+        EventPayloadRegistry registry = new EventPayloadRegistry(objectMapper);
+        registry.register("Bulk", 1, Bulk.class);
+        EnvelopeDeserializer deserializer = new EnvelopeDeserializer(objectMapper, registry,
+                new EnvelopeCodecs(json, List.of(), null, 64 * 1024));
+
+        // payload가 문자열이라 Bulk 바인딩은 실패하고, 한 번 풀어 둔 바이트로 문자열 payload 대체 파싱이 성공해야 합니다.
+        Envelope<?> env = deserializer.deserialize(EnvelopeCompression.gzip(largeJson(4096)), JsonEnvelopeCodec.CONTENT_TYPE);
+
+        assertThat(env).isNotNull();
+        assertThat(env.getPayload()).isEqualTo("a".repeat(4096));
+    }
+
+    @Test
+    void rejectsNonPositiveLimit() {
+        assertThatThrownBy(() -> new EnvelopeCodecs(json, List.of(), null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** payload 문자열 길이가 payloadChars인 Envelope JSON(반복 문자라 압축률이 매우 높음) */
+    private byte[] largeJson(int payloadChars) throws IOException {
+        return objectMapper.writeValueAsString(Map.of("type", "Bulk", "version", 1, "payload", "a".repeat(payloadChars)))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
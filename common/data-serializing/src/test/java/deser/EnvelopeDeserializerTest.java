@@ -0,0 +1,166 @@
+package deser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.Envelope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnvelopeDeserializerTest {
+
+    record UserRegistered(String userId, String email) {
+    }
+
+    private static final String PAYLOAD = "{\"userId\":\"u-1\",\"email\":\"u-1@example.com\"}";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private EventPayloadRegistry registry;
+    private EnvelopeDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EventPayloadRegistry(objectMapper);
+        registry.register("UserRegistered", 1, UserRegistered.class);
+        deserializer = new EnvelopeDeserializer(objectMapper, registry);
+    }
+
+    @Test
+    void bindsRegisteredPayloadWhenTypeAndVersionComeFirst() {
+        Envelope<?> env = deserialize("{\"id\":\"e-1\",\"type\":\"UserRegistered\",\"version\":1,"
+                + "\"occurredAt\":\"2025-01-01T00:00:00Z\","
+                + "\"routing\":{\"broker\":\"KAFKA\",\"kafka\":{\"topic\":\"user.v1\",\"key\":\"u-1\"}},"
+                + "\"payload\":" + PAYLOAD + "}");
+
+        assertThat(env.getId()).isEqualTo("e-1");
+        assertThat(env.getType()).isEqualTo("UserRegistered");
+        assertThat(env.getVersion()).isEqualTo(1);
+        assertThat(env.getOccurredAt()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+        assertThat(env.getRouting().getBroker()).isEqualTo(BrokerType.KAFKA);
+        assertThat(env.getRouting().getKafka().getTopic()).isEqualTo("user.v1");
+        assertThat(env.getPayload()).isEqualTo(new UserRegistered("u-1", "u-1@example.com"));
+    }
+
+    @Test
+    void bindsRegisteredPayloadWhenPayloadComesBeforeTypeAndVersion() {
+        Envelope<?> env = deserialize("{\"payload\":" + PAYLOAD + ",\"id\":\"e-1\",\"version\":1,\"type\":\"UserRegistered\"}");
+
+        assertThat(env.getType()).isEqualTo("UserRegistered");
+        assertThat(env.getVersion()).isEqualTo(1);
+        assertThat(env.getPayload()).isEqualTo(new UserRegistered("u-1", "u-1@example.com"));
+    }
+
+    @Test
+    void bindsRegisteredPayloadWhenPayloadComesBetweenTypeAndVersion() {
+        Envelope<?> env = deserialize("{\"type\":\"UserRegistered\",\"payload\":" + PAYLOAD + ",\"version\":1}");
+
+        assertThat(env.getPayload()).isEqualTo(new UserRegistered("u-1", "u-1@example.com"));
+    }
+
+    @Test
+    void unknownTypeFallsBackToMap() {
+        Envelope<?> env = deserialize("{\"type\":\"Unknown\",\"version\":1,\"payload\":" + PAYLOAD + "}");
+
+        assertThat(env.getPayload()).isEqualTo(Map.of("userId", "u-1", "email", "u-1@example.com"));
+    }
+
+    @Test
+    void unregisteredVersionFallsBackToMap() {
+        Envelope<?> env = deserialize("{\"payload\":" + PAYLOAD + ",\"type\":\"UserRegistered\",\"version\":2}");
+
+        assertThat(env.getVersion()).isEqualTo(2);
+        assertThat(env.getPayload()).isEqualTo(Map.of("userId", "u-1", "email", "u-1@example.com"));
+    }
+
+    @Test
+    void missingVersionIsZeroAndDoesNotBindOtherVersions() {
+        Envelope<?> env = deserialize("{\"type\":\"UserRegistered\",\"payload\":" + PAYLOAD + "}");
+
+        assertThat(env.getVersion()).isZero();
+        assertThat(env.getPayload()).isInstanceOf(Map.class);
+    }
+
+    @Test
+    void missingVersionBindsVersionZeroRegistration() {
+        registry.register("UserRegistered", 0, UserRegistered.class);
+
+        Envelope<?> env = deserialize("{\"type\":\"UserRegistered\",\"payload\":" + PAYLOAD + "}");
+
+        assertThat(env.getPayload()).isEqualTo(new UserRegistered("u-1", "u-1@example.com"));
+    }
+
+    @Test
+    void keepsStringPayloadOfUnregisteredType() {
+        Envelope<?> env = deserialize("{\"type\":\"Note\",\"version\":1,\"payload\":\"hello\"}");
+
+        assertThat(env.getPayload()).isEqualTo("hello");
+    }
+
+    @Test
+    void keepsNonObjectPayloadsAsJavaValues() {
+        assertThat(deserialize("{\"type\":\"Note\",\"version\":1,\"payload\":42}").getPayload()).isEqualTo(42);
+        assertThat(deserialize("{\"type\":\"Note\",\"version\":1,\"payload\":[1,2]}").getPayload()).isEqualTo(List.of(1, 2));
+        assertThat(deserialize("{\"type\":\"Note\",\"version\":1,\"payload\":null}").getPayload()).isNull();
+    }
+
+    @Test
+    void fallsBackToStringPayloadWhenRegisteredTypeCannotBind() {
+        Envelope<?> env = deserialize("{\"id\":\"e-1\",\"type\":\"UserRegistered\",\"version\":1,\"payload\":\"not an object\"}");
+
+        assertThat(env.getId()).isEqualTo("e-1");
+        assertThat(env.getPayload()).isEqualTo("not an object");
+    }
+
+    @Test
+    void ignoresUnknownFields() {
+        Envelope<?> env = deserialize("{\"extra\":{\"nested\":[1,{\"a\":2}]},\"type\":\"UserRegistered\",\"version\":1,"
+                + "\"payload\":" + PAYLOAD + ",\"tail\":true}");
+
+        assertThat(env.getPayload()).isEqualTo(new UserRegistered("u-1", "u-1@example.com"));
+    }
+
+    @Test
+    void returnsNullForNonEnvelopeBody() {
+        assertThat(deserializer.deserialize("[1,2,3]".getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(deserializer.deserialize("not json".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    @Test
+    void stringAndByteInputsAgree() {
+        String json = "{\"payload\":" + PAYLOAD + ",\"type\":\"UserRegistered\",\"version\":1}";
+
+        assertThat(deserializer.deserialize(json)).isEqualTo(deserialize(json));
+    }
+
+    @Test
+    void presetBindingOverridesBodyTypeAndVersion() {
+        EventPayloadRegistry.PayloadBinding binding = registry.binding("UserRegistered", 1);
+
+        Envelope<?> env = deserializer.deserialize(
+                ("{\"payload\":" + PAYLOAD + ",\"type\":\"Renamed\",\"version\":9}").getBytes(StandardCharsets.UTF_8), binding);
+
+        assertThat(env.getType()).isEqualTo("Renamed");
+        assertThat(env.getPayload()).isEqualTo(new UserRegistered("u-1", "u-1@example.com"));
+    }
+
+    @Test
+    void nullPresetBindingReadsMap() {
+        Envelope<?> env = deserializer.deserialize(
+                ("{\"type\":\"UserRegistered\",\"version\":1,\"payload\":" + PAYLOAD + "}").getBytes(StandardCharsets.UTF_8),
+                (EventPayloadRegistry.PayloadBinding) null);
+
+        assertThat(env.getPayload()).isInstanceOf(Map.class);
+    }
+
+    private Envelope<?> deserialize(String json) {
+        return deserializer.deserialize(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
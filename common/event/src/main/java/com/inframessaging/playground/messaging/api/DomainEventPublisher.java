@@ -1,5 +1,7 @@
 package com.inframessaging.playground.messaging.api;
 
+import java.util.Collection;
+
 /**
  * 도메인 이벤트 발행 추상화.
  * - 서비스 코드는 구현체에 의존하지 않고 이 인터페이스만 사용합니다.
@@ -10,4 +12,14 @@ public interface DomainEventPublisher {
     void publish(CustomEvent event);
     /** 라우팅 옵션(키/라우팅키 오버라이드)과 함께 발행 */
     void publish(CustomEvent event, RoutingOptions opts);
+
+    /**
+     * 여러 이벤트를 같은 라우팅 옵션으로 한 번에 발행합니다.
+     * - 구현체는 가능한 경우 한 트랜잭션/배치 INSERT로 적재합니다. 기본 구현은 단건 발행을 반복합니다.
+     */
+    default void publishAll(Collection<? extends CustomEvent> events, RoutingOptions opts) {
+        for (CustomEvent event : events) {
+            publish(event, opts);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.inframessaging.playground.messaging.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨슈머 측 타입별 이벤트 핸들러 표시.
+ * - (type, version) 이벤트를 받을 빈 메서드에 붙입니다. 파라미터는 하나이며 payload 타입(P) 또는 Envelope&lt;P&gt;입니다.
+ * - 기동 시 P가 EventPayloadRegistry에 자동 등록되므로, 본문은 수신 시 한 번만 P로 역직렬화되어 그대로 전달됩니다.
+ * - 같은 (type, version)에 핸들러는 하나만 둘 수 있습니다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventHandler {
+
+    /** Envelope.type(발행 측 이벤트 클래스의 simple name) */
+    String type();
+
+    /** Envelope.version */
+    int version() default 1;
+}
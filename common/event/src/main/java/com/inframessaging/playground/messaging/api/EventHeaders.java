@@ -0,0 +1,29 @@
+package com.inframessaging.playground.messaging.api;
+
+/**
+ * 브로커 메시지 헤더 이름
+ * - Envelope의 주요 메타(id, type, version, trace 등)를 본문 파싱 없이 읽을 수 있도록 헤더로도 전달합니다.
+ * - Kafka RecordHeaders / Rabbit MessageProperties 양쪽에 같은 이름을 사용합니다.
+ */
+public final class EventHeaders {
+
+    public static final String EVENT_ID = "X-Event-Id";
+    public static final String EVENT_TYPE = "X-Event-Type";
+    public static final String EVENT_VERSION = "X-Event-Version";
+    public static final String TRACE_ID = "X-Trace-Id";
+    public static final String OCCURRED_AT = "X-Occurred-At";
+    public static final String PRODUCER_SERVICE = "X-Producer-Service";
+    /** 본문 인코딩(EnvelopeCodec content type, 예: application/json, application/x-jackson-smile). 없으면 JSON */
+    public static final String CONTENT_TYPE = "X-Content-Type";
+    /** 본문 압축 방식(예: gzip). 압축하지 않은 본문에는 붙지 않습니다 */
+    public static final String CONTENT_ENCODING = "X-Content-Encoding";
+    /** 전송한 Outbox 행의 id. 행마다 고유하므로 Rabbit publisher confirm/return 상관 ID로 사용합니다 */
+    public static final String OUTBOX_ID = "X-Outbox-Id";
+
+    /** DLQ 전달 시에만 붙는 헤더 */
+    public static final String DEAD_LETTER = "X-Dead-Letter";
+    public static final String DLQ_REASON = "X-DLQ-Reason";
+
+    private EventHeaders() {
+    }
+}
@@ -2,14 +2,34 @@ package com.inframessaging.playground.messaging.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.inframessaging.playground.messaging.consumer.EventHandlerDispatcher;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
 import com.inframessaging.playground.messaging.producer.EventProducer;
 import com.inframessaging.playground.messaging.producer.RealEventProducer;
+import deser.EnvelopeCodec;
+import deser.EnvelopeCodecs;
 import deser.EnvelopeDeserializer;
+import deser.EnvelopeMessageReader;
 import deser.EventPayloadRegistry;
+import deser.JsonEnvelopeCodec;
+import deser.SmileEnvelopeCodec;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 메시징 Producer 관련 기본 빈 제공
@@ -30,21 +50,52 @@ public class MessagingAutoConfig {
 
     /**
      * 실제 Kafka/RabbitTemplate 기반 프로듀서 등록 (기본)
+     * - Kafka는 Boot의 ProducerFactory 설정(bootstrap, acks 등)을 그대로 쓰되 값 직렬화기만 ByteArraySerializer로 바꾼
+     *   전용 템플릿을 사용합니다. Outbox에 저장된 Envelope 바이트를 재인코딩 없이 그대로 전송하기 위함입니다.
+     * - 전용 팩토리는 빈으로 노출하지 않습니다(노출 시 Boot 기본 KafkaTemplate/ProducerFactory 자동 구성이 물러남).
+     * - send 동기 차단(max.block.ms)은 messaging.kafka.max-block-ms로 제한합니다(Outbox 임대 예산에 포함).
      */
     @Bean
     @ConditionalOnMissingBean(EventProducer.class)
-    public EventProducer eventProducer(org.springframework.kafka.core.KafkaTemplate<String, String> kafkaTemplate,
-                                       org.springframework.amqp.rabbit.core.RabbitTemplate rabbitTemplate) {
-        return new RealEventProducer(kafkaTemplate, rabbitTemplate);
+    public EventProducer eventProducer(ProducerFactory<?, ?> producerFactory, RabbitTemplate rabbitTemplate,
+                                       MessagingLogSampler logSampler, MessagingProperties properties) {
+        Map<String, Object> config = new HashMap<>(producerFactory.getConfigurationProperties());
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, properties.getKafka().getMaxBlockMs());
+        DefaultKafkaProducerFactory<String, byte[]> bytesFactory = new DefaultKafkaProducerFactory<>(
+                config, new StringSerializer(), new ByteArraySerializer());
+        return new RealEventProducer(new KafkaTemplate<>(bytesFactory), rabbitTemplate, logSampler);
+    }
+
+    /**
+     * 메시지 단위 로그 예산(샘플링/본문 생략) - messaging.logging.*
+     */
+    @Bean
+    @ConditionalOnMissingBean(MessagingLogSampler.class)
+    public MessagingLogSampler messagingLogSampler(MessagingProperties properties) {
+        return new MessagingLogSampler(properties);
     }
 
     /**
-     * payload 타입 매핑 레지스트리
+     * payload 타입 매핑 레지스트리(등록 시 같은 ObjectMapper로 payload별 ObjectReader를 미리 만듭니다)
      */
     @Bean
     @ConditionalOnMissingBean(EventPayloadRegistry.class)
-    public EventPayloadRegistry eventPayloadRegistry() {
-        return new EventPayloadRegistry();
+    public EventPayloadRegistry eventPayloadRegistry(ObjectMapper objectMapper) {
+        return new EventPayloadRegistry(objectMapper);
+    }
+
+    /**
+     * Envelope 코덱 모음: JSON + Smile + 사용자 정의 EnvelopeCodec 빈, 발행 코덱은 messaging.codec.content-type
+     */
+    @Bean
+    @ConditionalOnMissingBean(EnvelopeCodecs.class)
+    public EnvelopeCodecs envelopeCodecs(ObjectMapper objectMapper, MessagingProperties properties,
+                                         ObjectProvider<EnvelopeCodec> customCodecs) {
+        List<EnvelopeCodec> others = new ArrayList<>();
+        others.add(new SmileEnvelopeCodec(objectMapper));
+        customCodecs.orderedStream().forEach(others::add);
+        return new EnvelopeCodecs(new JsonEnvelopeCodec(objectMapper), others, properties.getCodec().getContentType(),
+                properties.getCodec().getMaxDecompressedBytes());
     }
 
     /**
@@ -52,7 +103,27 @@ public class MessagingAutoConfig {
      */
     @Bean
     @ConditionalOnMissingBean(EnvelopeDeserializer.class)
-    public EnvelopeDeserializer envelopeDeserializer(ObjectMapper objectMapper, EventPayloadRegistry registry) {
-        return new EnvelopeDeserializer(objectMapper, registry);
+    public EnvelopeDeserializer envelopeDeserializer(ObjectMapper objectMapper, EventPayloadRegistry registry,
+                                                     EnvelopeCodecs envelopeCodecs) {
+        return new EnvelopeDeserializer(objectMapper, registry, envelopeCodecs);
+    }
+
+    /**
+     * 컨슈머 진입점(헤더 기반 payload 타입 선택 + 본문 단일 바인딩)
+     */
+    @Bean
+    @ConditionalOnMissingBean(EnvelopeMessageReader.class)
+    public EnvelopeMessageReader envelopeMessageReader(EnvelopeDeserializer envelopeDeserializer, EventPayloadRegistry registry) {
+        return new EnvelopeMessageReader(envelopeDeserializer, registry);
+    }
+
+    /**
+     * {@link EventHandlerDispatcher}: @EventHandler 메서드 디스패처(payload 타입 자동 등록 + (type, version) → 핸들러 테이블)
+     * - BeanPostProcessor이므로 static으로 선언하고, 레지스트리는 ObjectProvider로 늦게 조회합니다(이 설정/ObjectMapper 조기 생성 방지).
+     */
+    @Bean
+    @ConditionalOnMissingBean(EventHandlerDispatcher.class)
+    public static EventHandlerDispatcher eventHandlerDispatcher(ObjectProvider<EventPayloadRegistry> registry) {
+        return new EventHandlerDispatcher(registry);
     }
 }
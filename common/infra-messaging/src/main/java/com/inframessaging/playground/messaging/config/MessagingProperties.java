@@ -1,12 +1,16 @@
 package com.inframessaging.playground.messaging.config;
 
 import com.inframessaging.playground.messaging.api.BrokerType;
+import deser.EnvelopeCodecs;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
  * messaging.* 구성 프로퍼티 바인딩
  * - 브로커 타입(kafka|rabbit)과 트레이싱 전파 여부를 설정합니다.
+ * - logging.*: 메시지 단위 로그의 초당 출력 예산과 본문 출력 방식(MessagingLogSampler)
+ * - kafka.*: Outbox 전송용 바이트 프로듀서 설정(send 동기 차단 상한)
+ * - codec.*: 발행 시 Envelope 본문 인코딩(EnvelopeCodec)과 압축 임계값, 수신 시 압축 해제 크기 상한. 수신 측은 메시지의 content type/압축 여부로 자동 선택합니다.
  */
 @Data
 @ConfigurationProperties(prefix = "messaging")
@@ -15,10 +19,64 @@ public class MessagingProperties {
     private BrokerType type = BrokerType.KAFKA; // kafka | rabbit
 
     private Tracing tracing = new Tracing();
+    private Logging logging = new Logging();
+    private Kafka kafka = new Kafka();
+    private Codec codec = new Codec();
 
     @Data
     public static class Tracing {
         /** 트레이스 헤더 전파 여부 */
         private boolean propagation = true;
     }
+
+    @Data
+    public static class Logging {
+        /** 메시지 단위 로그 출력 여부(false면 배치 요약/경고만 남습니다) */
+        private boolean perEvent = true;
+        /** 카테고리별 초당 최대 출력 줄 수(0 이하면 제한 없음) */
+        private int ratePerSecond = 10;
+        /** 본문 출력 방식 */
+        private PayloadMode payload = PayloadMode.NONE;
+        /** TRUNCATE일 때 출력할 최대 길이(바이트 본문은 바이트, 객체는 문자 수) */
+        private int maxPayloadChars = 256;
+    }
+
+    @Data
+    public static class Kafka {
+        /**
+         * send 호출이 메타데이터 조회/버퍼 대기로 동기 차단될 수 있는 상한(ms). 바이트 프로듀서의 max.block.ms로 적용됩니다.
+         * - Kafka 기본값(60초)은 Outbox 임대 예산을 넘기므로 짧게 제한합니다. outbox.claim.lease-seconds 검증에 포함됩니다.
+         */
+        private long maxBlockMs = 5000;
+    }
+
+    @Data
+    public static class Codec {
+        /**
+         * 발행에 사용할 코덱의 content type
+         * - application/json(기본) | application/x-jackson-smile
+         * - 컨슈머를 먼저 배포한 뒤 프로듀서를 바꾸면 무중단으로 전환됩니다(컨슈머는 두 형식을 모두 읽음).
+         */
+        private String contentType = "application/json";
+        /**
+         * 인코딩한 본문이 이 크기(바이트)를 넘으면 gzip으로 압축합니다. 0 이하면 압축하지 않습니다(기본).
+         * - 작은 본문은 압축 이득보다 CPU/헤더 비용이 커서 임계값 이상만 압축합니다(예: 1024).
+         * - 컨슈머는 gzip 본문을 자동으로 풀어 읽으므로 컨슈머를 먼저 배포한 뒤 켭니다.
+         */
+        private int compressionThresholdBytes = 0;
+        /**
+         * gzip 본문을 풀었을 때 허용하는 최대 크기(바이트, 기본 16 MiB). 넘으면 역직렬화 실패로 처리합니다.
+         * - 작은 압축 본문이 비정상적으로 크게 풀리는 메시지(zip bomb)로부터 컨슈머를 보호합니다.
+         */
+        private long maxDecompressedBytes = EnvelopeCodecs.DEFAULT_MAX_DECOMPRESSED_BYTES;
+    }
+
+    public enum PayloadMode {
+        /** 본문 생략(크기/타입만) */
+        NONE,
+        /** 앞부분만 출력 */
+        TRUNCATE,
+        /** 전체 출력(개발 환경 전용) */
+        FULL
+    }
 }
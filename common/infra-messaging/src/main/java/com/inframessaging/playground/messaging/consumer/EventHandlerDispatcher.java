@@ -0,0 +1,182 @@
+package com.inframessaging.playground.messaging.consumer;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.EventHandler;
+import deser.EventPayloadRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link EventHandler} 메서드 디스패처
+ * - BeanPostProcessor로 빈마다 @EventHandler 메서드를 찾아 두고, 모든 싱글톤 생성 후(리스너 컨테이너 시작 전)
+ *   payload 타입을 EventPayloadRegistry에 등록하고 디스패치 테이블을 확정합니다.
+ * - 테이블은 type → version 인덱스 배열(EventPayloadRegistry와 같은 구조)이라 조회가 O(1)이고 메시지마다 키 객체를 만들지 않습니다.
+ * - 호출은 빈에 바인딩한 MethodHandle(void(Object))로 하여 메시지마다 리플렉션 조회/인자 배열 생성을 하지 않습니다.
+ * - 같은 (type, version)에 핸들러가 둘이거나, 레지스트리에 다른 payload 클래스가 이미 등록되어 있으면 기동을 실패시킵니다.
+ */
+@Slf4j
+public class EventHandlerDispatcher implements BeanPostProcessor, SmartInitializingSingleton {
+
+    private final ObjectProvider<EventPayloadRegistry> registryProvider;
+
+    /** 기동 중 수집한 핸들러(afterSingletonsInstantiated에서 테이블로 옮긴 뒤 비움) */
+    private final List<HandlerMethod> discovered = new ArrayList<>();
+    /** type → version 인덱스의 핸들러 배열(빈 칸은 null). 기동 완료 후 교체하지 않습니다. */
+    private volatile Map<String, HandlerMethod[]> table = Map.of();
+
+    public EventHandlerDispatcher(ObjectProvider<EventPayloadRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        Map<Method, EventHandler> methods = MethodIntrospector.selectMethods(targetClass,
+                (MethodIntrospector.MetadataLookup<EventHandler>) m -> AnnotatedElementUtils.findMergedAnnotation(m, EventHandler.class));
+        methods.forEach((method, annotation) -> {
+            synchronized (discovered) {
+                discovered.add(HandlerMethod.of(bean, beanName, AopUtils.selectInvocableMethod(method, bean.getClass()), annotation));
+            }
+        });
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        EventPayloadRegistry registry = registryProvider.getObject();
+        Map<String, HandlerMethod[]> next = new HashMap<>();
+        synchronized (discovered) {
+            for (HandlerMethod h : discovered) {
+                HandlerMethod[] versions = next.get(h.type);
+                versions = versions == null ? new HandlerMethod[h.version + 1] : Arrays.copyOf(versions, Math.max(versions.length, h.version + 1));
+                if (versions[h.version] != null) {
+                    throw new IllegalStateException("Duplicate @EventHandler for " + h.type + ":" + h.version
+                            + " (" + versions[h.version].description + ", " + h.description + ")");
+                }
+                versions[h.version] = h;
+                next.put(h.type, versions);
+                registerPayload(registry, h);
+            }
+            discovered.clear();
+        }
+        table = next;
+        log.info("[EventHandlerDispatcher] registered handlers: {}", next.values().stream()
+                .flatMap(Arrays::stream).filter(Objects::nonNull).map(h -> h.type + ":" + h.version + "->" + h.description).toList());
+    }
+
+    /** (type, version)에 핸들러가 있는지 */
+    public boolean handles(String type, int version) {
+        return handler(type, version) != null;
+    }
+
+    /**
+     * 역직렬화된 Envelope를 해당 핸들러로 넘깁니다(핸들러 예외는 그대로 전파).
+     * @return 핸들러가 있어 호출했으면 true
+     */
+    public boolean dispatch(Envelope<?> env) {
+        if (env == null) return false;
+        HandlerMethod h = handler(env.getType(), env.getVersion());
+        if (h == null) return false;
+        Object payload = env.getPayload();
+        // payload가 등록 타입으로 바인딩되지 않은 경우(문자열 폴백 등) 핸들러를 부르지 않습니다(Envelope<P> 파라미터도 동일).
+        if (payload != null && !h.payloadClass.isInstance(payload)) {
+            log.warn("[EventHandlerDispatcher] payload type mismatch for {}:{} expected={} actual={}",
+                    env.getType(), env.getVersion(), h.payloadClass.getSimpleName(), payload.getClass().getSimpleName());
+            return false;
+        }
+        try {
+            h.invoker.invokeExact(h.envelopeParameter ? env : payload);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("@EventHandler failed: " + h.description, t);
+        }
+        return true;
+    }
+
+    private HandlerMethod handler(String type, int version) {
+        if (type == null || version < 0) return null;
+        HandlerMethod[] versions = table.get(type);
+        if (versions == null || version >= versions.length) return null;
+        return versions[version];
+    }
+
+    private static void registerPayload(EventPayloadRegistry registry, HandlerMethod h) {
+        if (h.payloadClass == Object.class) return;
+        Class<?> existing = registry.find(h.type, h.version);
+        if (existing != null && existing != h.payloadClass) {
+            throw new IllegalStateException("Payload class conflict for " + h.type + ":" + h.version
+                    + " registered=" + existing.getName() + " handler=" + h.description);
+        }
+        if (existing == null) {
+            registry.register(h.type, h.version, h.payloadClass);
+        }
+    }
+
+    /** 빈에 바인딩된 핸들러 1개 */
+    private static final class HandlerMethod {
+        final String type;
+        final int version;
+        /** payload 바인딩 대상(Envelope<P>면 P, 미지정이면 Object) */
+        final Class<?> payloadClass;
+        /** 파라미터가 Envelope<P>인지(아니면 payload 자체) */
+        final boolean envelopeParameter;
+        /** void(Object)로 맞춘 바운드 핸들 */
+        final MethodHandle invoker;
+        final String description;
+
+        private HandlerMethod(String type, int version, Class<?> payloadClass, boolean envelopeParameter,
+                              MethodHandle invoker, String description) {
+            this.type = type;
+            this.version = version;
+            this.payloadClass = payloadClass;
+            this.envelopeParameter = envelopeParameter;
+            this.invoker = invoker;
+            this.description = description;
+        }
+
+        static HandlerMethod of(Object bean, String beanName, Method method, EventHandler annotation) {
+            String description = beanName + "#" + method.getName();
+            if (annotation.type().isEmpty() || annotation.version() < 0) {
+                throw new IllegalStateException("@EventHandler requires type and version >= 0: " + description);
+            }
+            if (Modifier.isStatic(method.getModifiers())) {
+                throw new IllegalStateException("@EventHandler method must not be static: " + description);
+            }
+            if (method.getParameterCount() != 1) {
+                throw new IllegalStateException("@EventHandler method must have exactly one parameter (payload or Envelope<P>): " + description);
+            }
+            ResolvableType param = ResolvableType.forMethodParameter(method, 0);
+            boolean envelopeParameter = Envelope.class.isAssignableFrom(param.toClass());
+            Class<?> payloadClass = envelopeParameter ? param.getGeneric(0).toClass() : param.toClass();
+            try {
+                ReflectionUtils.makeAccessible(method);
+                MethodHandle invoker = MethodHandles.lookup().unreflect(method)
+                        .bindTo(bean)
+                        .asType(MethodType.methodType(void.class, Object.class));
+                return new HandlerMethod(annotation.type(), annotation.version(), payloadClass, envelopeParameter, invoker, description);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("@EventHandler method is not accessible: " + description, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.inframessaging.playground.messaging.logging;
+
+import com.inframessaging.playground.messaging.api.EventHeaders;
+import com.inframessaging.playground.messaging.config.MessagingProperties;
+import deser.EnvelopeCompression;
+import deser.JsonEnvelopeCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메시지 단위(핫패스) 로그 예산 관리
+ * - 카테고리(예: producer.kafka, consumer.rabbit)마다 초당 messaging.logging.rate-per-second 줄까지만 출력을 허용합니다.
+ * - 허용되지 않은 줄은 건너뛴 수만 세었다가 다음에 허용된 줄에 함께 실어(skipped=N) 전체 흐름을 잃지 않게 합니다.
+ * - 배치 요약 줄(tryAcquireSummary)은 per-event=false여도 예산 안에서 출력됩니다.
+ * - 본문(payload)은 messaging.logging.payload 설정에 따라 생략(NONE) / 잘라서(TRUNCATE) / 전체(FULL) 출력합니다.
+ *   전송 본문은 X-Content-Type이 JSON이고 압축되지 않은 경우에만 문자열로 출력합니다(Smile/gzip은 크기와 형식만).
+ *
+ * 사용 예)
+ * <pre>
+ * long skipped = sampler.tryAcquire("consumer.kafka");
+ * if (skipped >= 0) log.info("... skipped={}", ..., skipped);
+ * </pre>
+ */
+public class MessagingLogSampler {
+
+    private final MessagingProperties.Logging props;
+    private final ConcurrentMap<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    public MessagingLogSampler(MessagingProperties properties) {
+        this.props = properties.getLogging();
+    }
+
+    /**
+     * 이 카테고리에서 지금 한 줄을 출력해도 되는지 판단합니다.
+     * @return 출력 불가면 -1, 출력 가능하면 직전 출력 이후 건너뛴 줄 수(0 이상)
+     */
+    public long tryAcquire(String category) {
+        if (!props.isPerEvent()) return -1;
+        return acquire(category);
+    }
+
+    /**
+     * 배치 요약 줄용 예산 확인. per-event 설정과 무관하게 카테고리별 초당 예산만 적용합니다.
+     * @return 출력 불가면 -1, 출력 가능하면 직전 출력 이후 건너뛴 줄 수(0 이상)
+     */
+    public long tryAcquireSummary(String category) {
+        return acquire(category);
+    }
+
+    private long acquire(String category) {
+        int limit = props.getRatePerSecond();
+        if (limit <= 0) return 0;
+        Budget b = budgets.computeIfAbsent(category, k -> new Budget());
+        long second = System.nanoTime() / 1_000_000_000L;
+        long window = b.window.get();
+        if (window != second && b.window.compareAndSet(window, second)) {
+            // 창 경계에서 경합하는 몇 줄의 오차는 허용합니다(락 없이 처리).
+            b.used.set(0);
+        }
+        if (b.used.incrementAndGet() > limit) {
+            b.skipped.increment();
+            return -1;
+        }
+        return b.skipped.sumThenReset();
+    }
+
+    /** 바이트 본문을 설정된 방식으로 로그용 문자열로 만듭니다. */
+    public String payload(byte[] body) {
+        if (body == null) return "null";
+        return switch (props.getPayload()) {
+            case NONE -> "<" + body.length + " bytes>";
+            case TRUNCATE -> body.length <= props.getMaxPayloadChars()
+                    ? new String(body, StandardCharsets.UTF_8)
+                    : new String(body, 0, props.getMaxPayloadChars(), StandardCharsets.UTF_8) + "...(" + body.length + " bytes)";
+            case FULL -> new String(body, StandardCharsets.UTF_8);
+        };
+    }
+
+    /**
+     * 전송 헤더(X-Content-Type / X-Content-Encoding)를 보고 본문을 로그용 문자열로 만듭니다.
+     * - JSON(헤더 없음 포함)이면서 압축되지 않은 본문만 payload(byte[])로 출력하고, 그 외 바이너리 본문은 크기와 형식만 남깁니다.
+     */
+    public String payload(byte[] body, Map<String, String> headers) {
+        if (body == null) return "null";
+        String contentType = headers != null ? headers.get(EventHeaders.CONTENT_TYPE) : null;
+        String contentEncoding = headers != null ? headers.get(EventHeaders.CONTENT_ENCODING) : null;
+        boolean json = contentType == null || contentType.startsWith(JsonEnvelopeCodec.CONTENT_TYPE);
+        if (json && contentEncoding == null && !EnvelopeCompression.isGzip(body)) return payload(body);
+        return "<" + body.length + " bytes " + (contentType != null ? contentType : JsonEnvelopeCodec.CONTENT_TYPE)
+                + (contentEncoding != null ? "+" + contentEncoding : "") + ">";
+    }
+
+    /** 역직렬화된 payload 객체를 설정된 방식으로 로그용 문자열로 만듭니다. */
+    public String payload(Object payload) {
+        if (payload == null) return "null";
+        return switch (props.getPayload()) {
+            case NONE -> "<" + payload.getClass().getSimpleName() + ">";
+            case TRUNCATE -> truncate(String.valueOf(payload));
+            case FULL -> String.valueOf(payload);
+        };
+    }
+
+    private String truncate(String s) {
+        int max = props.getMaxPayloadChars();
+        return s.length() <= max ? s : s.substring(0, max) + "...(" + s.length() + " chars)";
+    }
+
+    /** 카테고리별 1초 창 예산 */
+    private static final class Budget {
+        private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger used = new AtomicInteger();
+        private final LongAdder skipped = new LongAdder();
+    }
+}
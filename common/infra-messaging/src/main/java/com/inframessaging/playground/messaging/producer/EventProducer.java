@@ -1,19 +1,34 @@
 package com.inframessaging.playground.messaging.producer;
 
 import com.inframessaging.playground.messaging.api.BrokerType;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 브로커별 전송을 추상화한 Producer 인터페이스
  * - 구현체는 실제 Kafka/RabbitTemplate 등을 사용하여 전송합니다.
  * - 본 PoC에서는 LoggingEventProducer가 로그로 대체합니다.
+ * - 전송은 비동기입니다. 반환된 future는 브로커가 수신을 확인(ack)하면 정상 완료되고,
+ *   전송 실패 시 예외로 완료됩니다. 구현체는 가능하면 예외를 던지지 않고 실패한 future로 보고합니다.
+ * - body는 직렬화가 끝난 바이트입니다. 구현체는 재인코딩 없이 그대로 브로커에 전달합니다.
  */
 public interface EventProducer {
     /** 현재 구현이 지원/선택한 브로커 타입 */
     BrokerType brokerType();
 
-    /** Kafka 전송: topic + key + body(JSON) + headers */
-    void sendKafka(String topic, String key, String bodyJson, Map<String, String> headers);
-    /** Rabbit 전송: exchange + routingKey + body(JSON) + headers */
-    void sendRabbit(String exchange, String routingKey, String bodyJson, Map<String, String> headers);
+    /** Kafka 전송: topic + key + body(직렬화된 Envelope 바이트) + headers */
+    CompletableFuture<Void> sendKafka(String topic, String key, byte[] body, Map<String, String> headers);
+    /** Rabbit 전송: exchange + routingKey + body(직렬화된 Envelope 바이트) + headers */
+    CompletableFuture<Void> sendRabbit(String exchange, String routingKey, byte[] body, Map<String, String> headers);
+
+    /** Kafka 전송(문자열 본문 편의 메서드, UTF-8로 인코딩) */
+    default CompletableFuture<Void> sendKafka(String topic, String key, String bodyJson, Map<String, String> headers) {
+        return sendKafka(topic, key, bodyJson.getBytes(StandardCharsets.UTF_8), headers);
+    }
+    /** Rabbit 전송(문자열 본문 편의 메서드, UTF-8로 인코딩) */
+    default CompletableFuture<Void> sendRabbit(String exchange, String routingKey, String bodyJson, Map<String, String> headers) {
+        return sendRabbit(exchange, routingKey, bodyJson.getBytes(StandardCharsets.UTF_8), headers);
+    }
 }
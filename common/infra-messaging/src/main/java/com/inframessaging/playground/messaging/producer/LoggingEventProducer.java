@@ -1,30 +1,48 @@
 package com.inframessaging.playground.messaging.producer;
 
 import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 실제 브로커 전송 대신 로그로 출력하는 PoC용 Producer 구현체
+ * - RealEventProducer와 같이 MessagingLogSampler 예산(producer.kafka / producer.rabbit) 안에서만 출력합니다.
+ * - 본문은 messaging.logging.payload 설정을 따르며, JSON이 아니거나 압축된 본문은 크기와 형식만 남깁니다.
  */
 @Slf4j
+@RequiredArgsConstructor
 public class LoggingEventProducer implements EventProducer {
 
     private final BrokerType selected = BrokerType.KAFKA; // default; 실제 선택은 빈 주입/설정에 따름
 
+    private final MessagingLogSampler logSampler;
+
     @Override
     public BrokerType brokerType() {
         return selected;
     }
 
     @Override
-    public void sendKafka(String topic, String key, String bodyJson, Map<String, String> headers) {
-        log.info("[LoggingProducer][KAFKA] topic={} key={} headers={} body={}", topic, key, headers, bodyJson);
+    public CompletableFuture<Void> sendKafka(String topic, String key, byte[] body, Map<String, String> headers) {
+        long skipped = logSampler.tryAcquire("producer.kafka");
+        if (skipped >= 0) {
+            log.info("[LoggingProducer][KAFKA] topic={} key={} headers={} body={} skipped={}",
+                    topic, key, headers, logSampler.payload(body, headers), skipped);
+        }
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
-    public void sendRabbit(String exchange, String routingKey, String bodyJson, Map<String, String> headers) {
-        log.info("[LoggingProducer][RABBIT] exchange={} routingKey={} headers={} body={}", exchange, routingKey, headers, bodyJson);
+    public CompletableFuture<Void> sendRabbit(String exchange, String routingKey, byte[] body, Map<String, String> headers) {
+        long skipped = logSampler.tryAcquire("producer.rabbit");
+        if (skipped >= 0) {
+            log.info("[LoggingProducer][RABBIT] exchange={} routingKey={} headers={} body={} skipped={}",
+                    exchange, routingKey, headers, logSampler.payload(body, headers), skipped);
+        }
+        return CompletableFuture.completedFuture(null);
     }
 }
@@ -1,27 +1,58 @@
 package com.inframessaging.playground.messaging.producer;
 
 import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.EventHeaders;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.kafka.core.KafkaTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 실제 Kafka/RabbitTemplate로 전송하는 Producer 구현체
+ * - Kafka: KafkaTemplate.send의 future를 그대로 노출하여 브로커 ack 시점에 완료됩니다.
+ * - Rabbit: 커넥션 팩토리에 publisher confirm(CORRELATED)이 켜져 있으면 CorrelationData(id = Outbox 행 id)를 붙여 보내고,
+ *   브로커 confirm(ack) 시 완료 / nack·unroutable 반환 시 실패하는 future를 돌려줍니다. confirm을 메시지마다 기다리지 않으므로
+ *   호출자(OutboxProcessor)는 in-flight window 안에서 여러 confirm을 비동기로 모아 결과 그룹별로 일괄 반영합니다.
+ *   confirm이 꺼져 있으면 convertAndSend 반환 시점에 완료된 future를 돌려줍니다(수신 확인 없음).
+ *   unroutable 판정은 publisher returns + mandatory가 켜져 있어야 동작하므로, confirm만 켜져 있으면 기동 시 경고합니다.
+ * - 본문은 바이트 그대로 전달합니다(Kafka ByteArraySerializer, Rabbit Message body).
+ * - 전송 로그는 MessagingLogSampler 예산(카테고리별 초당 줄 수) 안에서만 남기며, 본문은 설정(기본 생략)에 따릅니다.
  */
 @Slf4j
 @RequiredArgsConstructor
-public class RealEventProducer implements EventProducer {
+public class RealEventProducer implements EventProducer, InitializingBean, DisposableBean {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
     private final RabbitTemplate rabbitTemplate;
+    private final MessagingLogSampler logSampler;
+
+    /**
+     * confirm만 켜고 returns를 끄면 라우팅되지 않은 메시지도 브로커가 ack하므로, 큐에 닿지 않은 이벤트가 SENT로 전이됩니다.
+     * (Boot는 spring.rabbitmq.template.mandatory 미지정 시 publisher-returns 값을 mandatory로 사용)
+     */
+    @Override
+    public void afterPropertiesSet() {
+        ConnectionFactory connectionFactory = rabbitTemplate.getConnectionFactory();
+        if (connectionFactory.isPublisherConfirms() && !connectionFactory.isPublisherReturns()) {
+            log.warn("[Producer][RABBIT] publisher confirms are enabled but publisher returns are not; unroutable messages will be treated as sent. "
+                    + "Set spring.rabbitmq.publisher-returns=true and spring.rabbitmq.template.mandatory=true");
+        }
+    }
 
     @Override
     public BrokerType brokerType() {
@@ -29,7 +60,7 @@ public class RealEventProducer implements EventProducer {
     }
 
     @Override
-    public void sendKafka(String topic, String key, String bodyJson, Map<String, String> headers) {
+    public CompletableFuture<Void> sendKafka(String topic, String key, byte[] body, Map<String, String> headers) {
         // Kafka 헤더 주입: ProducerRecord + RecordHeaders 사용
         RecordHeaders recordHeaders = new RecordHeaders();
         if (headers != null) {
@@ -39,17 +70,37 @@ public class RealEventProducer implements EventProducer {
                 }
             });
         }
-        ProducerRecord<String, String> record = new ProducerRecord<>(topic, null, key, bodyJson, recordHeaders);
-        log.info("[Producer][KAFKA] send topic={} key={} headers={} body={} ", topic, key, headers, bodyJson);
-        kafkaTemplate.send(record);
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, null, key, body, recordHeaders);
+        long skipped = logSampler.tryAcquire("producer.kafka");
+        if (skipped >= 0) {
+            log.info("[Producer][KAFKA] send topic={} key={} eventId={} body={} skipped={}",
+                    topic, key, headers != null ? headers.get(EventHeaders.EVENT_ID) : null, logSampler.payload(body, headers), skipped);
+        }
+        try {
+            return kafkaTemplate.send(record).thenApply(result -> null);
+        } catch (Exception e) {
+            // 메타데이터 타임아웃 등 send 호출 자체가 실패한 경우
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
-    public void sendRabbit(String exchange, String routingKey, String bodyJson, Map<String, String> headers) {
+    public CompletableFuture<Void> sendRabbit(String exchange, String routingKey, byte[] body, Map<String, String> headers) {
         // Rabbit 헤더 주입: MessageProperties 사용
         MessageProperties props = new MessageProperties();
-        props.setContentType("application/json");
-        props.setContentEncoding(StandardCharsets.UTF_8.name());
+        // 본문 인코딩은 X-Content-Type 헤더(EnvelopeCodec)를 따릅니다. 헤더가 없으면 기존과 같이 JSON
+        String contentType = headers != null ? headers.get(EventHeaders.CONTENT_TYPE) : null;
+        if (contentType == null || "application/json".equals(contentType)) {
+            props.setContentType("application/json");
+            props.setContentEncoding(StandardCharsets.UTF_8.name());
+        } else {
+            props.setContentType(contentType);
+        }
+        // 압축 본문은 AMQP content-encoding 속성에도 표시합니다(문자셋 대신 gzip).
+        String contentEncoding = headers != null ? headers.get(EventHeaders.CONTENT_ENCODING) : null;
+        if (contentEncoding != null) {
+            props.setContentEncoding(contentEncoding);
+        }
         if (headers != null) {
             headers.forEach((k, v) -> {
                 if (k != null && v != null) {
@@ -57,8 +108,49 @@ public class RealEventProducer implements EventProducer {
                 }
             });
         }
-        Message message = new Message(bodyJson.getBytes(StandardCharsets.UTF_8), props);
-        log.info("[Producer][RABBIT] send exchange={} routingKey={} headers={} body={} ", exchange, routingKey, headers, bodyJson);
-        rabbitTemplate.convertAndSend(exchange, routingKey, message);
+        Message message = new Message(body, props);
+        long skipped = logSampler.tryAcquire("producer.rabbit");
+        if (skipped >= 0) {
+            log.info("[Producer][RABBIT] send exchange={} routingKey={} eventId={} body={} skipped={}",
+                    exchange, routingKey, headers != null ? headers.get(EventHeaders.EVENT_ID) : null, logSampler.payload(body, headers), skipped);
+        }
+        try {
+            if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+                rabbitTemplate.convertAndSend(exchange, routingKey, message);
+                return CompletableFuture.completedFuture(null);
+            }
+            // 상관 ID는 전송마다 고유해야 반환(unroutable) 메시지가 올바른 전송에 연결됩니다.
+            // 이벤트 ID는 같은 이벤트를 여러 행으로 적재하면 겹칠 수 있으므로 Outbox 행 id를 쓰고, 없으면(Outbox 외 호출) 랜덤 UUID
+            String outboxId = headers != null ? headers.get(EventHeaders.OUTBOX_ID) : null;
+            CorrelationData correlation = new CorrelationData(outboxId != null && !outboxId.isEmpty() ? outboxId : UUID.randomUUID().toString());
+            rabbitTemplate.convertAndSend(exchange, routingKey, message, correlation);
+            return correlation.getFuture().thenCompose(confirm -> confirmResult(correlation, confirm));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** confirm 결과 해석: ack이면서 반환(unroutable)되지 않은 경우만 성공입니다. */
+    private static CompletableFuture<Void> confirmResult(CorrelationData correlation, CorrelationData.Confirm confirm) {
+        if (!confirm.isAck()) {
+            return CompletableFuture.failedFuture(new AmqpException("publisher nack id=" + correlation.getId() + " reason=" + confirm.getReason()));
+        }
+        if (correlation.getReturned() != null) {
+            return CompletableFuture.failedFuture(new AmqpException("message returned as unroutable id=" + correlation.getId()
+                    + " replyText=" + correlation.getReturned().getReplyText()));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /** 전용 ProducerFactory(바이트 값 직렬화)를 닫아 프로듀서 스레드/커넥션을 정리합니다. */
+    @Override
+    public void destroy() {
+        if (kafkaTemplate.getProducerFactory() instanceof DisposableBean factory) {
+            try {
+                factory.destroy();
+            } catch (Exception e) {
+                log.warn("[Producer][KAFKA] producer factory close failed. error={}", e.getMessage());
+            }
+        }
     }
 }
@@ -0,0 +1,129 @@
+package com.inframessaging.playground.messaging.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.EventHandler;
+import deser.EventPayloadRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventHandlerDispatcherTest {
+
+    record UserRegistered(String userId) {
+    }
+
+    record UserRegisteredV2(String userId, String email) {
+    }
+
+    static class UserHandlers {
+        final List<Object> received = new ArrayList<>();
+
+        @EventHandler(type = "UserRegistered", version = 1)
+        void onV1(UserRegistered payload) {
+            received.add(payload);
+        }
+
+        @EventHandler(type = "UserRegistered", version = 2)
+        void onV2(Envelope<UserRegisteredV2> env) {
+            received.add(env);
+        }
+    }
+
+    static class DuplicateHandler {
+        @EventHandler(type = "UserRegistered", version = 1)
+        void onAgain(UserRegistered payload) {
+        }
+    }
+
+    static class FailingHandler {
+        @EventHandler(type = "UserDeleted", version = 1)
+        void onDeleted(UserRegistered payload) {
+            throw new IllegalArgumentException("boom");
+        }
+    }
+
+    private final EventPayloadRegistry registry = new EventPayloadRegistry(new ObjectMapper());
+
+    @Test
+    void dispatchesPayloadAndEnvelopeHandlersByTypeAndVersion() {
+        UserHandlers handlers = new UserHandlers();
+        EventHandlerDispatcher dispatcher = dispatcher(handlers);
+        Envelope<UserRegisteredV2> v2 = envelope("UserRegistered", 2, new UserRegisteredV2("u-2", "a@b.c"));
+
+        assertThat(dispatcher.dispatch(envelope("UserRegistered", 1, new UserRegistered("u-1")))).isTrue();
+        assertThat(dispatcher.dispatch(v2)).isTrue();
+
+        assertThat(handlers.received).containsExactly(new UserRegistered("u-1"), v2);
+        assertThat(dispatcher.handles("UserRegistered", 1)).isTrue();
+        assertThat(dispatcher.handles("UserRegistered", 3)).isFalse();
+        assertThat(dispatcher.handles("UserDeleted", 1)).isFalse();
+    }
+
+    @Test
+    void registersHandlerPayloadClassesInRegistry() {
+        dispatcher(new UserHandlers());
+
+        assertThat(registry.find("UserRegistered", 1)).isEqualTo(UserRegistered.class);
+        assertThat(registry.find("UserRegistered", 2)).isEqualTo(UserRegisteredV2.class);
+    }
+
+    @Test
+    void unknownEventOrMismatchedPayloadIsNotDispatched() {
+        UserHandlers handlers = new UserHandlers();
+        EventHandlerDispatcher dispatcher = dispatcher(handlers);
+
+        assertThat(dispatcher.dispatch(envelope("UserDeleted", 1, new UserRegistered("u-1")))).isFalse();
+        assertThat(dispatcher.dispatch(envelope("UserRegistered", 1, "{\"userId\":\"u-1\"}"))).isFalse();
+        assertThat(dispatcher.dispatch(null)).isFalse();
+        assertThat(handlers.received).isEmpty();
+    }
+
+    @Test
+    void duplicateHandlerForSameTypeAndVersionFailsStartup() {
+        assertThatThrownBy(() -> dispatcher(new UserHandlers(), new DuplicateHandler()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Duplicate @EventHandler for UserRegistered:1");
+    }
+
+    @Test
+    void payloadClassConflictWithRegistryFailsStartup() {
+        registry.register("UserRegistered", 1, UserRegisteredV2.class);
+
+        assertThatThrownBy(() -> dispatcher(new UserHandlers()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Payload class conflict for UserRegistered:1");
+    }
+
+    @Test
+    void handlerExceptionPropagatesToCaller() {
+        EventHandlerDispatcher dispatcher = dispatcher(new FailingHandler());
+
+        assertThatThrownBy(() -> dispatcher.dispatch(envelope("UserDeleted", 1, new UserRegistered("u-1"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("boom");
+    }
+
+    private EventHandlerDispatcher dispatcher(Object... beans) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<EventPayloadRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(registry);
+        EventHandlerDispatcher dispatcher = new EventHandlerDispatcher(provider);
+        for (int i = 0; i < beans.length; i++) {
+            dispatcher.postProcessAfterInitialization(beans[i], "bean" + i);
+        }
+        dispatcher.afterSingletonsInstantiated();
+        return dispatcher;
+    }
+
+    private static <T> Envelope<T> envelope(String type, int version, T payload) {
+        return Envelope.<T>builder().id("e-" + type).type(type).version(version).payload(payload).build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.inframessaging.playground.loadharness;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 하네스 전용 메트릭 설정
+ * - consumer.e2e.latency의 분위수는 기본적으로 최근 몇 분 구간(sliding window)만 반영하므로,
+ *   실행 전체를 한 구간으로 집계하도록 만료 시간을 늘리고 정밀도를 높입니다(p999 비교용).
+ */
+@Configuration
+public class HarnessMetricsConfig {
+
+    @Bean
+    public MeterFilter e2eLatencyWholeRun() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!"consumer.e2e.latency".equals(id.getName())) return config;
+                return DistributionStatisticConfig.builder()
+                        .expiry(Duration.ofHours(6))
+                        .bufferLength(1)
+                        .percentilePrecision(3)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.inframessaging.playground.loadharness;
+
+import org.mockito.Mockito;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.test.TestRabbitTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ 대체 구성
+ * - spring-rabbit-test에는 임베디드 브로커가 없으므로, TestRabbitTemplate이 send 시점에 @RabbitListener를 직접 호출합니다.
+ * - 리스너 컨테이너는 기동하지 않고(spring.rabbitmq.listener.simple.auto-startup=false) 연결 팩토리는 목으로 둡니다.
+ * - 목 연결 팩토리는 publisher confirm을 지원하지 않으므로 RealEventProducer는 confirm 없이 전송 즉시 완료합니다.
+ * - 리스너 호출이 전송 스레드(Outbox 워커)에서 동기로 일어나므로 Rabbit 수치는 브로커 네트워크 비용이 빠진 값입니다.
+ */
+@Configuration
+public class HarnessRabbitConfig {
+
+    @Bean
+    public ConnectionFactory rabbitConnectionFactory() {
+        return Mockito.mock(ConnectionFactory.class);
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory rabbitConnectionFactory) {
+        return new QueueHeaderRabbitTemplate(rabbitConnectionFactory);
+    }
+
+    /**
+     * 실제 컨테이너가 채우는 consumerQueue 속성을 routingKey(=큐 이름)로 채웁니다(컨슈머가 소스별 메트릭에 사용).
+     */
+    static class QueueHeaderRabbitTemplate extends TestRabbitTemplate {
+
+        QueueHeaderRabbitTemplate(ConnectionFactory connectionFactory) {
+            super(connectionFactory);
+        }
+
+        @Override
+        public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+            message.getMessageProperties().setConsumerQueue(routingKey);
+            super.send(exchange, routingKey, message, correlationData);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.inframessaging.playground.loadharness;
+
+import com.inframessaging.playground.services.servicea.ServiceAApplication;
+import com.inframessaging.playground.services.serviceb.ServiceBApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
+
+/**
+ * 종단 간 부하 테스트 하네스
+ * - 임베디드 Kafka(KRaft)를 띄우고 serviceA(DemoController + Outbox)와 serviceB(컨슈머)를 한 컨텍스트로 실행합니다.
+ * - RabbitMQ는 TestRabbitTemplate이 @RabbitListener를 직접 호출합니다(HarnessRabbitConfig 참고).
+ * - 두 서비스의 application.yaml은 이름이 같아 클래스패스에서 하나만 보이므로 설정 파일 이름을 load-harness로 바꿉니다.
+ * - 부하 주입/측정/보고는 LoadRunner가 담당하며, 결과에 따라 종료 코드(0: 전량 수신, 1: 유실/타임아웃)를 돌려줍니다.
+ */
+@EnableScheduling
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableConfigurationProperties(LoadHarnessProperties.class)
+@ComponentScan(basePackages = "com.inframessaging.playground",
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {ServiceAApplication.class, ServiceBApplication.class}))
+public class LoadHarnessApplication {
+
+    /** serviceA가 발행하고 serviceB가 구독하는 Kafka 토픽(demo.kafka.topic / topic2) */
+    private static final String[] TOPICS = {"user.profile.updated.v1", "user.activity.logged.v1"};
+
+    public static void main(String[] args) throws Exception {
+        int partitions = Integer.getInteger("harness.kafka-partitions", 4);
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, partitions, TOPICS);
+        kafka.afterPropertiesSet();
+
+        // TestRabbitTemplate은 routingKey와 같은 이름의 큐 리스너로 전달하므로 큐 이름을 라우팅 키에 맞춥니다.
+        // (RabbitDemoProps는 시스템 프로퍼티를 직접 읽습니다)
+        System.setProperty("demo.rabbit.queue", System.getProperty("demo.rabbit.routing-key", "user.profile.updated"));
+        System.setProperty("demo.rabbit.queue2", System.getProperty("demo.rabbit.routing-key2", "user.activity.logged"));
+
+        int exitCode = 1;
+        try {
+            SpringApplication app = new SpringApplication(LoadHarnessApplication.class);
+            app.setDefaultProperties(Map.of("spring.config.name", "load-harness"));
+            try (ConfigurableApplicationContext ctx = app.run(
+                    "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString())) {
+                exitCode = ctx.getBean(LoadRunner.class).run() ? 0 : 1;
+            }
+        } finally {
+            kafka.destroy();
+        }
+        System.exit(exitCode);
+    }
+}
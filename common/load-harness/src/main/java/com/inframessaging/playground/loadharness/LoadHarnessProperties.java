@@ -0,0 +1,52 @@
+package com.inframessaging.playground.loadharness;
+
+import com.inframessaging.playground.messaging.api.BrokerType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 부하 테스트 하네스 설정
+ * - 주입 속도/시간, 호출할 DemoController 엔드포인트, 브로커를 조합하여 실행합니다.
+ * - Gradle loadTest 태스크에서는 -Pharness.rate=500 처럼 지정합니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "harness")
+public class LoadHarnessProperties {
+    /** 초당 HTTP 요청 수(오픈 루프: 응답을 기다리지 않고 일정 간격으로 발사) */
+    private int rate = 200;
+    /** 부하 주입 시간(초) */
+    private int durationSeconds = 30;
+    /** 호출할 엔드포인트 */
+    private Endpoint endpoint = Endpoint.PUBLISH;
+    /** PUBLISH/PUBLISH_USER에서 사용할 브로커 */
+    private BrokerType broker = BrokerType.KAFKA;
+    /** 메시지 키(userId) 종류 수. 키 수가 적을수록 샤드/파티션 편중이 커집니다 */
+    private int keys = 100;
+    /** 동시에 응답을 기다릴 수 있는 최대 요청 수(초과 시 발사를 잠시 멈춤) */
+    private int maxInFlight = 256;
+    /** 주입 종료 후 전량 수신을 기다리는 최대 시간(초) */
+    private int drainTimeoutSeconds = 60;
+    /** 임베디드 Kafka 토픽 파티션 수(컨텍스트 시작 전에 시스템 프로퍼티로 읽습니다) */
+    private int kafkaPartitions = 4;
+    /** 초 단위 시계열을 CSV로 남길 경로(비우면 콘솔만) */
+    private String reportFile;
+
+    /** DemoController 엔드포인트와 요청당 발행 이벤트 수 */
+    public enum Endpoint {
+        PUBLISH("/api/demo/publish", 1),
+        PUBLISH_USER("/api/demo/publish-user", 1),
+        PUBLISH_BOTH("/api/demo/publish-both", 2),
+        PUBLISH_MULTI("/api/demo/publish-multi", 4);
+
+        private final String path;
+        private final int eventsPerRequest;
+
+        Endpoint(String path, int eventsPerRequest) {
+            this.path = path;
+            this.eventsPerRequest = eventsPerRequest;
+        }
+
+        public String path() { return path; }
+        public int eventsPerRequest() { return eventsPerRequest; }
+    }
+}
@@ -0,0 +1,143 @@
+package com.inframessaging.playground.loadharness;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.consumer.ConsumerMetrics;
+import com.inframessaging.playground.messaging.outbox.OutboxEventRepository;
+import com.inframessaging.playground.messaging.outbox.OutboxEventStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 주입 → 배출(drain) → 보고
+ * - 1초마다 요청 수/오류, serviceB 누적 수신 수, Outbox backlog(PENDING+FAILED)와 DEAD 행 수를 기록합니다.
+ * - 주입이 끝나면 기대 수신 수(202 응답 수 x 요청당 이벤트 수)에 도달하거나 drain 타임아웃까지 기다립니다.
+ * - 발행→수신 지연은 serviceB의 consumer.e2e.latency(소스별)에서 읽습니다(HarnessMetricsConfig가 실행 전체를 한 구간으로 집계).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadRunner {
+
+    private final LoadHarnessProperties props;
+    private final ConsumerMetrics consumerMetrics;
+    private final OutboxEventRepository outboxRepository;
+    private final MeterRegistry meterRegistry;
+    private final KafkaListenerEndpointRegistry kafkaListeners;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    /**
+     * @return 기대한 이벤트를 모두 수신했으면 true
+     */
+    public boolean run() throws Exception {
+        for (MessageListenerContainer container : kafkaListeners.getListenerContainers()) {
+            ContainerTestUtils.waitForAssignment(container, container.getContainerProperties().getTopics().length * props.getKafkaPartitions());
+        }
+        int port = environment.getRequiredProperty("local.server.port", Integer.class);
+        RateDriver driver = new RateDriver(objectMapper, props, port);
+        System.out.printf("-- load: endpoint=%s broker=%s rate=%d/s duration=%ds keys=%d%n",
+                props.getEndpoint(), props.getBroker(), props.getRate(), props.getDurationSeconds(), props.getKeys());
+
+        List<Sample> samples = new ArrayList<>();
+        long start = System.nanoTime();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            try {
+                Sample s = sample(driver, start);
+                synchronized (samples) { samples.add(s); }
+                System.out.printf("t=%4ds accepted=%-8d errors=%-6d consumed=%-8d backlog=%-7d dead=%d%n",
+                        s.second, s.accepted, s.errors, s.consumed, s.backlog, s.dead);
+            } catch (Exception e) {
+                log.warn("[LoadHarness] sample failed: {}", e.getMessage());
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+
+        long driveNanos = driver.drive();
+        long expected = driver.accepted.sum() * props.getEndpoint().eventsPerRequest();
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(props.getDrainTimeoutSeconds());
+        while (consumed() < expected && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        long totalNanos = System.nanoTime() - start;
+        sampler.shutdown();
+        sampler.awaitTermination(5, TimeUnit.SECONDS);
+
+        long consumed = consumed();
+        report(driver, driveNanos, totalNanos, expected, consumed);
+        if (props.getReportFile() != null && !props.getReportFile().isBlank()) {
+            writeCsv(Path.of(props.getReportFile()), samples);
+        }
+        return consumed >= expected;
+    }
+
+    private Sample sample(RateDriver driver, long start) {
+        long backlog = 0;
+        long dead = 0;
+        for (Object[] row : outboxRepository.countBacklog()) {
+            long count = ((Number) row[3]).longValue();
+            if (row[0] == OutboxEventStatus.DEAD) dead += count;
+            else backlog += count;
+        }
+        long second = Math.round((System.nanoTime() - start) / 1e9);
+        return new Sample(second, driver.accepted.sum(), driver.errors.sum(), consumed(), backlog, dead);
+    }
+
+    private long consumed() {
+        return consumerMetrics.totalReceived(ConsumerMetrics.KAFKA) + consumerMetrics.totalReceived(ConsumerMetrics.RABBIT);
+    }
+
+    private void report(RateDriver driver, long driveNanos, long totalNanos, long expected, long consumed) {
+        double driveSec = driveNanos / 1e9;
+        double totalSec = totalNanos / 1e9;
+        System.out.println("-- result");
+        System.out.printf("requests   accepted=%d errors=%d achieved=%.1f req/s (target %d)%n",
+                driver.accepted.sum(), driver.errors.sum(), driver.accepted.sum() / driveSec, props.getRate());
+        System.out.printf("events     expected=%d consumed=%d lost=%d throughput=%.1f ev/s (incl. drain, %.1fs)%n",
+                expected, consumed, Math.max(0, expected - consumed), consumed / totalSec, totalSec);
+        System.out.printf("%-8s %-28s %-10s %-10s %-10s %-10s %-10s%n", "broker", "source", "count", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Timer t : meterRegistry.find("consumer.e2e.latency").timers()) {
+            HistogramSnapshot snap = t.takeSnapshot();
+            double p50 = 0, p99 = 0, p999 = 0;
+            for (ValueAtPercentile p : snap.percentileValues()) {
+                if (p.percentile() == 0.5) p50 = p.value(TimeUnit.MILLISECONDS);
+                else if (p.percentile() == 0.99) p99 = p.value(TimeUnit.MILLISECONDS);
+                else if (p.percentile() == 0.999) p999 = p.value(TimeUnit.MILLISECONDS);
+            }
+            System.out.printf("%-8s %-28s %-10d %-10.1f %-10.1f %-10.1f %-10.1f%n",
+                    t.getId().getTag("broker"), t.getId().getTag("source"), snap.count(), p50, p99, p999, snap.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private static void writeCsv(Path path, List<Sample> samples) throws Exception {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("second,accepted,errors,consumed,backlog,dead");
+            for (Sample s : samples) {
+                out.printf("%d,%d,%d,%d,%d,%d%n", s.second, s.accepted, s.errors, s.consumed, s.backlog, s.dead);
+            }
+        }
+        System.out.println("-- timeseries written to " + path.toAbsolutePath());
+    }
+
+    /** 초 단위 시계열 한 점(누적값, backlog/dead는 그 시점의 행 수) */
+    private record Sample(long second, long accepted, long errors, long consumed, long backlog, long dead) {
+    }
+}
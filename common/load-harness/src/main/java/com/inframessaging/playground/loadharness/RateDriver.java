@@ -0,0 +1,104 @@
+package com.inframessaging.playground.loadharness;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.api.BrokerType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 오픈 루프 HTTP 부하 주입기
+ * - i번째 요청을 시작 시각 + i/rate 에 발사하고 응답은 비동기로 집계합니다(응답 지연이 발사 간격을 늦추지 않음).
+ * - 응답 대기 요청이 maxInFlight에 도달하면 자리가 날 때까지 발사를 멈추므로, 달성 속도는 sent/elapsed로 따로 보고합니다.
+ */
+class RateDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper;
+    private final LoadHarnessProperties props;
+    private final URI uri;
+    private final Semaphore inFlight;
+
+    /** 202 응답 수 */
+    final LongAdder accepted = new LongAdder();
+    /** 오류 응답 또는 전송 실패 수 */
+    final LongAdder errors = new LongAdder();
+
+    RateDriver(ObjectMapper objectMapper, LoadHarnessProperties props, int port) {
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.uri = URI.create("http://localhost:" + port + props.getEndpoint().path());
+        this.inFlight = new Semaphore(Math.max(1, props.getMaxInFlight()));
+    }
+
+    /**
+     * 설정된 속도/시간만큼 요청을 발사하고, 마지막 응답까지 기다립니다.
+     * @return 실제 주입에 걸린 시간(ns)
+     */
+    long drive() throws Exception {
+        long interval = Math.max(1, 1_000_000_000L / Math.max(1, props.getRate()));
+        long start = System.nanoTime();
+        long end = start + props.getDurationSeconds() * 1_000_000_000L;
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= end) break;
+            long wait = due - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            inFlight.acquire();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body(i)))
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((res, ex) -> {
+                inFlight.release();
+                if (ex == null && res.statusCode() == 202) accepted.increment();
+                else errors.increment();
+            });
+        }
+        inFlight.acquire(Math.max(1, props.getMaxInFlight()));
+        inFlight.release(Math.max(1, props.getMaxInFlight()));
+        return System.nanoTime() - start;
+    }
+
+    /** DemoController 요청 본문(DemoRequest / UserRegisteredRequest). userId는 keys개 키를 순환합니다. */
+    private byte[] body(long i) throws Exception {
+        String userId = "user-" + (i % Math.max(1, props.getKeys()));
+        BrokerType broker = props.getBroker();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("userId", userId);
+        switch (props.getEndpoint()) {
+            case PUBLISH -> {
+                body.put("broker", broker);
+                body.put("topic", topicFor(broker));
+                body.put("payload", Map.of("userId", userId, "seq", i));
+            }
+            case PUBLISH_USER -> {
+                body.put("broker", broker);
+                body.put("topic", topicFor(broker));
+                body.put("routingKey", "user.profile.updated");
+                body.put("email", userId + "@example.com");
+                body.put("userNumber", i);
+                body.put("regCode", 42L);
+            }
+            default -> body.put("payload", Map.of("userId", userId, "seq", i));
+        }
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    /** serviceB가 구독하는 목적지: Kafka는 토픽, Rabbit은 익스체인지 */
+    private static String topicFor(BrokerType broker) {
+        return broker == BrokerType.RABBIT ? "user.events" : "user.profile.updated.v1";
+    }
+}
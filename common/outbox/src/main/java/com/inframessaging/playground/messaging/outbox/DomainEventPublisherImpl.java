@@ -1,21 +1,36 @@
 package com.inframessaging.playground.messaging.outbox;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inframessaging.playground.messaging.api.*;
+import com.inframessaging.playground.messaging.config.MessagingProperties;
+import deser.EnvelopeCodec;
+import deser.EnvelopeCodecs;
+import deser.EnvelopeCompression;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * DomainEventPublisher 구현체.
  * - 도메인 이벤트를 Envelope로 래핑하여 Outbox에 적재합니다.
  * - Envelope 직렬화 실패 시에도 FAILED 상태로 Outbox에 저장하여 운영 가시성을 확보합니다.
+ * - 적재 트랜잭션이 커밋되면 OutboxWakeup으로 드레인 루프를 깨워 폴링 대기 없이 전송되게 합니다.
+ * - ProducerInfo는 기동 시 한 번만 만들어 재사용하고, ID는 EventIdGenerator(ULID 형식)로 발급합니다.
+ * - 본문 인코딩은 EnvelopeCodecs.producer()(messaging.codec.content-type)를 따르고, 행에 content_type으로 기록합니다.
+ * - 인코딩한 본문이 messaging.codec.compression-threshold-bytes보다 크면 gzip으로 압축하고 content_encoding에 기록합니다.
+ * - outbox.direct-send.enabled=true 이면 커밋 직후 OutboxDirectSender로 바로 전송하고, 폴링은 실패/미전송 행만 처리합니다.
  */
 @Slf4j
 @Service
@@ -24,8 +39,39 @@ public class DomainEventPublisherImpl implements DomainEventPublisher {
 
     /** Outbox 저장소(JPA) */
     private final OutboxEventRepository repository;
-    /** Envelope 직렬화(Jackson) */
-    private final ObjectMapper objectMapper;
+    /** Envelope 직렬화 코덱(JSON/Smile 등) */
+    private final EnvelopeCodecs codecs;
+    /** 본문 압축 임계값(messaging.codec.*) */
+    private final MessagingProperties messagingProperties;
+    /** 커밋 직후 드레인 루프 깨우기 */
+    private final OutboxWakeup wakeup;
+    /** 애플리케이션 이름/프로파일 조회 */
+    private final Environment environment;
+    /** 커밋 직후 직접 전송(옵션, 비활성 시 빈 없음) */
+    private final ObjectProvider<OutboxDirectSender> directSenderProvider;
+
+    /** 이 서비스의 프로듀서 정보(불변, 기동 시 1회 구성) */
+    private ProducerInfo producerInfo;
+    /** 직접 전송 경로(null이면 폴링만 사용) */
+    private OutboxDirectSender directSender;
+
+    /**
+     * 프로듀서 정보를 구성하고 직접 전송 경로 사용 여부를 확인합니다.
+     * - service: spring.application.name, env: 활성 프로파일(없으면 local)
+     * - 호스트명 조회(DNS 가능)는 여기서 한 번만 수행하여 요청 스레드에서 발생하지 않게 합니다.
+     */
+    @PostConstruct
+    void init() {
+        String host = "unknown";
+        try { host = InetAddress.getLocalHost().getHostName(); } catch (UnknownHostException ignored) {}
+        String[] profiles = environment.getActiveProfiles();
+        producerInfo = ProducerInfo.builder()
+                .service(environment.getProperty("spring.application.name", "infra-messaging-playground"))
+                .host(host)
+                .env(profiles.length == 0 ? "local" : String.join(",", profiles))
+                .build();
+        directSender = directSenderProvider.getIfAvailable();
+    }
 
     /**
      * 라우팅 옵션이 없을 경우 기본 옵션으로 위임 호출합니다.
@@ -36,32 +82,81 @@ public class DomainEventPublisherImpl implements DomainEventPublisher {
     }
 
     /**
-     * 이벤트를 Envelope로 감싸 JSON으로 직렬화한 뒤, Outbox에 PENDING(또는 FAILED)으로 적재합니다.
+     * 이벤트를 Envelope로 감싸 발행 코덱으로 직렬화한 뒤, Outbox에 PENDING(또는 FAILED)으로 적재합니다.
      */
     @Override
     public void publish(CustomEvent event, RoutingOptions opts) {
+        store(List.of(toEntity(event, opts)));
+    }
+
+    /**
+     * 여러 이벤트를 한 번에 적재합니다.
+     * - saveAll은 하나의 트랜잭션에서 실행되고, 시퀀스(pooled) ID라 INSERT가 flush 시점에 JDBC 배치로 묶입니다
+     *   (hibernate.jdbc.batch_size 설정 필요). 이벤트마다 왕복하던 비용이 배치 단위로 줄어듭니다.
+     * - 드레인 루프 깨우기 신호(또는 직접 전송)도 커밋 후 한 번만 수행합니다.
+     */
+    @Override
+    public void publishAll(Collection<? extends CustomEvent> events, RoutingOptions opts) {
+        if (events.isEmpty()) return;
+        List<OutboxEventEntity> entities = new ArrayList<>(events.size());
+        for (CustomEvent event : events) {
+            entities.add(toEntity(event, opts));
+        }
+        store(entities);
+    }
+
+    /**
+     * 엔티티를 적재하고 커밋 후 작업을 등록합니다.
+     * - 직접 전송 모드: 행을 이 노드 임대로 미리 잡아 저장하고, 커밋 직후 바로 전송합니다.
+     * - 기본 모드: 커밋 직후 드레인 루프를 깨웁니다.
+     */
+    private void store(List<OutboxEventEntity> entities) {
+        OutboxDirectSender direct = directSender;
+        if (direct != null) {
+            entities.forEach(direct::preLease);
+        }
+        if (entities.size() == 1) repository.save(entities.get(0));
+        else repository.saveAll(entities);
+        afterCommit(direct != null ? () -> direct.sendCommitted(entities) : wakeup::signal);
+    }
+
+    /**
+     * 이벤트를 Envelope로 감싸 직렬화하고 적재할 Outbox 엔티티를 만듭니다.
+     * - 직렬화 실패 시에도 FAILED 엔티티를 만들어 유실을 방지하고 원인(lastErrorMessage)을 남깁니다.
+     */
+    private OutboxEventEntity toEntity(CustomEvent event, RoutingOptions opts) {
         Envelope<CustomEvent> envelope = buildEnvelope(event, opts);
-        String json;
+        EnvelopeCodec codec = codecs.producer();
+        byte[] body;
+        String contentEncoding = null;
         try {
-            json = objectMapper.writeValueAsString(envelope);
-        } catch (JsonProcessingException e) {
-            // 직렬화 실패 시에도 Outbox에 FAILED로 저장하여 유실을 방지하고 원인(lastErrorMessage)을 남깁니다.
+            body = codec.encode(envelope);
+            int threshold = messagingProperties.getCodec().getCompressionThresholdBytes();
+            if (threshold > 0 && body.length > threshold) {
+                // 압축해도 줄지 않으면(이미 압축된 바이너리 등) 원본을 그대로 저장합니다.
+                byte[] compressed = EnvelopeCompression.gzip(body);
+                if (compressed != null) {
+                    body = compressed;
+                    contentEncoding = EnvelopeCompression.GZIP;
+                }
+            }
+        } catch (IOException e) {
             log.error("Envelope serialization failed", e);
-            persist(event, opts, null, OutboxEventStatus.FAILED, e.getMessage());
-            return;
+            return newEntity(event, opts, null, null, null, OutboxEventStatus.FAILED, e.getMessage());
         }
+        // 브로커 헤더는 메모리에 있는 Envelope 메타로 지금 한 번만 계산해 둡니다(전송 시 본문 재파싱 방지).
+        String headers = OutboxHeaders.encode(OutboxHeaders.of(envelope));
         // 정상 직렬화 시 PENDING으로 저장 → Processor가 전송 후 SENT로 전이합니다.
-        persist(event, opts, json, OutboxEventStatus.PENDING, null);
+        OutboxEventEntity entity = newEntity(event, opts, body, headers, codec.contentType(), OutboxEventStatus.PENDING, null);
+        entity.setContentEncoding(contentEncoding);
+        return entity;
     }
 
     /**
      * Envelope 구성: 프로듀서/트레이스/라우팅 메타를 포함하여 표준 래퍼를 만듭니다.
      */
     private Envelope<CustomEvent> buildEnvelope(CustomEvent event, RoutingOptions opts) {
-        String host = "unknown";
-        try { host = InetAddress.getLocalHost().getHostName(); } catch (UnknownHostException ignored) {}
-        ProducerInfo producer = ProducerInfo.builder().service("infra-messaging-playground").host(host).env("local").build();
-        TraceInfo trace = TraceInfo.builder().traceId(UUID.randomUUID().toString()).correlationId(UUID.randomUUID().toString()).build();
+        TraceInfo trace = TraceInfo.builder().traceId(EventIdGenerator.nextId()).correlationId(EventIdGenerator.nextId()).build();
         Routing routing = Routing.builder()
                 .broker(event.brokerType())
                 // Kafka: topic + key(파티션 키)
@@ -72,11 +167,11 @@ public class DomainEventPublisherImpl implements DomainEventPublisher {
                 ).build())
                 .build();
         return Envelope.<CustomEvent>builder()
-                .id(UUID.randomUUID().toString())
+                .id(EventIdGenerator.nextId())
                 .type(event.getClass().getSimpleName())
                 .version(event.version())
                 .occurredAt(Instant.now())
-                .producer(producer)
+                .producer(producerInfo)
                 .trace(trace)
                 .routing(routing)
                 .payload(event)
@@ -84,26 +179,47 @@ public class DomainEventPublisherImpl implements DomainEventPublisher {
     }
 
     /**
-     * Outbox 엔티티를 생성하여 저장합니다.
+     * Outbox 엔티티를 생성합니다.
      * - brokerType에 따라 kafkaTopic 또는 rabbitExchange 중 하나를 채웁니다.
      * - messageKey(=Kafka key), rabbitRoutingKey는 RoutingOptions에서 넘어옵니다.
      * - status는 직렬화 성공 시 PENDING, 실패 시 FAILED로 기록합니다.
+     * - headers는 OutboxHeaders로 인코딩된 브로커 헤더, contentType은 본문 인코딩입니다.
      */
-    private void persist(CustomEvent event, RoutingOptions opts, String envelopeJson, OutboxEventStatus status, String lastError) {
+    private OutboxEventEntity newEntity(CustomEvent event, RoutingOptions opts, byte[] envelope, String headers,
+                                        String contentType, OutboxEventStatus status, String lastError) {
         Instant now = Instant.now();
-        OutboxEventEntity e = OutboxEventEntity.builder()
+        return OutboxEventEntity.builder()
                 .brokerType(event.brokerType())
                 .kafkaTopic(event.brokerType() == BrokerType.KAFKA ? event.topic() : null)
                 .rabbitExchange(event.brokerType() == BrokerType.RABBIT ? event.topic() : null)
                 .rabbitRoutingKey(opts.getRoutingKey())
                 .messageKey(opts.getKafkaKey())
-                .envelope(envelopeJson)
+                .envelope(envelope)
+                .headers(headers)
+                .contentType(contentType)
                 .status(status)
                 .retryCount(0)
                 .lastErrorMessage(lastError)
                 .createdAt(now)
                 .updatedAt(now)
                 .build();
-        repository.save(e);
+    }
+
+    /**
+     * Outbox 적재가 커밋된 뒤 작업(드레인 루프 깨우기 / 직접 전송)을 실행합니다.
+     * - 호출자 트랜잭션이 있으면 afterCommit에서, 없으면(save가 자체 커밋) 즉시 실행합니다.
+     * - 커밋 전에 실행하면 Processor가 아직 보이지 않는 행을 놓치거나 롤백될 이벤트를 전송하므로 반드시 커밋 이후여야 합니다.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,48 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 정렬 가능한 단조 증가 ID 생성기(ULID 형식, Crockford Base32 26자)
+ * - 상위 64비트: 밀리초 시각(48비트) + 같은 밀리초 내 순번(16비트). 프로세스 안에서 CAS로 단조 증가를 보장합니다.
+ *   순번이 넘치면 다음 밀리초로 넘어가므로 정렬 순서는 유지됩니다.
+ * - 하위 64비트: ThreadLocalRandom 난수. 노드 간 충돌 방지용이며 보안 용도(추측 불가 토큰)로는 쓰지 않습니다.
+ * - UUID.randomUUID()와 달리 공유 SecureRandom을 거치지 않아 동시 발행 시 경합이 없습니다.
+ */
+public final class EventIdGenerator {
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+
+    /** 마지막으로 발급한 (시각 << 16 | 순번) */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private EventIdGenerator() {
+    }
+
+    /** 새 ID를 발급합니다. */
+    public static String nextId() {
+        return encode(nextHigh(LAST, System.currentTimeMillis()), ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 상위 64비트(시각 << 16 | 순번)를 발급합니다.
+     * - 시계가 앞서 있으면 해당 밀리초의 순번 0, 같거나 뒤로 간 경우(같은 밀리초, 시계 역행)는 마지막 값 + 1입니다.
+     */
+    static long nextHigh(AtomicLong last, long nowMillis) {
+        long now = nowMillis << 16;
+        return last.updateAndGet(prev -> Math.max(prev + 1, now));
+    }
+
+    /** 128비트 값을 Crockford Base32 26자로 인코딩합니다(상위 2비트는 0으로 채움). */
+    static String encode(long hi, long lo) {
+        char[] out = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            out[i] = CROCKFORD[(int) (lo & 31)];
+            lo = (lo >>> 5) | (hi << 59);
+            hi >>>= 5;
+        }
+        return new String(out);
+    }
+}
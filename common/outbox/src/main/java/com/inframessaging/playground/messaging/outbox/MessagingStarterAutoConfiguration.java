@@ -18,9 +18,19 @@ import org.springframework.context.annotation.Import;
         MessagingAutoConfig.class,
         // Outbox 사용을 위한 JPA 스캔(엔티티/리포지토리 활성화)
         OutboxJpaConfig.class,
-        // 퍼블리셔/프로세서(스케줄)
+        // 퍼블리셔/프로세서(드레인 루프)
+        OutboxWakeup.class,
         DomainEventPublisherImpl.class,
-        OutboxProcessor.class
+        OutboxClaimer.class,
+        OutboxStatusUpdater.class,
+        OutboxEventSender.class,
+        OutboxMetrics.class,
+        OutboxProcessor.class,
+        OutboxDrainLoop.class,
+        // 커밋 직후 직접 전송(outbox.direct-send.enabled=true)
+        OutboxDirectSender.class,
+        // 보존 정책(SENT 삭제 / DEAD 아카이브)
+        OutboxRetentionJob.class
 })
 public class MessagingStarterAutoConfiguration {
 }
@@ -0,0 +1,37 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 재시도 지연 계산(지수 백오프 + 지터)
+ * - baseSeconds * (2^(attempts-1)) 를 기반으로 하고, maxSeconds로 상한을 둡니다.
+ * - jitterRate가 0.1 이면 ±10% 범위에서 랜덤 지터를 적용합니다(0이면 지터 없음).
+ * - 설정 객체를 매번 읽으므로 프로퍼티 변경이 바로 반영됩니다.
+ */
+public final class OutboxBackoffPolicy {
+
+    private final OutboxProperties.Backoff backoff;
+
+    public OutboxBackoffPolicy(OutboxProperties.Backoff backoff) {
+        this.backoff = backoff;
+    }
+
+    /**
+     * @param attempts 지금까지의 시도 횟수(1부터)
+     * @return 다음 시도까지의 지연(초, 최소 1)
+     */
+    public long delaySeconds(int attempts) {
+        int base = Math.max(1, backoff.getBaseSeconds());
+        int max = Math.max(base, backoff.getMaxSeconds());
+        double jitter = Math.max(0.0, backoff.getJitterRate());
+        // pow with cap to avoid overflow
+        long exp = 1L << Math.min(Math.max(attempts - 1, 0), 20); // 2^(attempts-1), capped
+        double capped = Math.min(base * (double) exp, max);
+        double delta = capped * jitter;
+        double min = Math.max(1.0, capped - delta);
+        double maxV = capped + delta;
+        // 지터가 0이면 범위가 비어 nextDouble이 예외를 던지므로 계산값을 그대로 씁니다.
+        double value = maxV > min ? ThreadLocalRandom.current().nextDouble(min, maxV) : min;
+        return Math.max(1, Math.round(value));
+    }
+}
@@ -0,0 +1,107 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.net.InetAddress;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Outbox 행 선점(claim) 담당
+ * - 여러 Processor 노드가 같은 event_outbox를 폴링해도 각 행은 한 노드만 전송하도록 임대(lease)를 겁니다.
+ * - SKIP_LOCKED: SELECT ... FOR UPDATE SKIP LOCKED로 잠기지 않은 행만 골라 같은 트랜잭션에서 일괄 UPDATE로 임대를 기록합니다.
+ * - LEASE: 후보를 조회한 뒤 조건부 UPDATE(임대 미보유/만료 행만)로 임대를 획득합니다. 모든 DB에서 동작합니다.
+ * - 어느 방식이든 트랜잭션은 선점까지만 유지하고, 전송 중에는 lease_until이 다른 노드의 접근을 막습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxClaimer {
+
+    private final OutboxEventRepository repository;
+    private final OutboxProperties properties;
+    private final DataSource dataSource;
+
+    /** 이 노드의 임대 소유자 식별자 */
+    @Getter
+    private String ownerId;
+    /** 실제 적용된 선점 방식(AUTO 해석 결과) */
+    @Getter
+    private OutboxProperties.ClaimMode mode;
+
+    @PostConstruct
+    void init() {
+        OutboxProperties.Claim claim = properties.getClaim();
+        ownerId = claim.getOwnerId() != null && !claim.getOwnerId().isBlank() ? claim.getOwnerId() : defaultOwnerId();
+        mode = claim.getMode() == OutboxProperties.ClaimMode.AUTO ? detectMode() : claim.getMode();
+        log.info("Outbox claimer initialized owner={} mode={}", ownerId, mode);
+    }
+
+    /**
+     * 전송 대상 행을 최대 limit건 선점하여 반환합니다.
+     * - 반환된 엔티티는 leaseOwner/leaseUntil이 이 노드로 기록된 상태입니다.
+     */
+    @Transactional
+    public List<OutboxEventEntity> claim(int limit) {
+        Instant now = Instant.now();
+        Instant until = now.plusSeconds(Math.max(1, properties.getClaim().getLeaseSeconds()));
+        if (mode == OutboxProperties.ClaimMode.SKIP_LOCKED) {
+            List<OutboxEventEntity> rows = repository.findProcessableSkipLocked(now, PageRequest.of(0, limit));
+            if (rows.isEmpty()) return rows;
+            // 잠근 행에 임대를 id 목록 단일 UPDATE로 기록합니다(엔티티 더티 체킹 시 행마다 envelope까지 다시 쓰므로 피함).
+            // acquireLease가 영속성 컨텍스트를 비우므로 아래 setter는 분리된 엔티티에만 반영되고 추가 UPDATE가 나가지 않습니다.
+            List<Long> ids = rows.stream().map(OutboxEventEntity::getId).toList();
+            repository.acquireLease(ids, ownerId, until, now);
+            for (OutboxEventEntity e : rows) {
+                e.setLeaseOwner(ownerId);
+                e.setLeaseUntil(until);
+            }
+            return rows;
+        }
+        List<Long> candidateIds = repository.findProcessableIds(now, PageRequest.of(0, limit));
+        if (candidateIds.isEmpty()) return List.of();
+        int acquired = repository.acquireLease(candidateIds, ownerId, until, now);
+        if (acquired == 0) return List.of();
+        return repository.findLeased(ownerId, candidateIds);
+    }
+
+    /**
+     * DB 제품/버전으로 SKIP LOCKED 지원 여부를 판단합니다.
+     * - PostgreSQL 9.5+, MySQL 8+, MariaDB 10.6+, Oracle은 SKIP_LOCKED, 그 외(H2 등)는 LEASE
+     */
+    private OutboxProperties.ClaimMode detectMode() {
+        try (Connection c = dataSource.getConnection()) {
+            DatabaseMetaData md = c.getMetaData();
+            String product = md.getDatabaseProductName().toLowerCase(Locale.ROOT);
+            int major = md.getDatabaseMajorVersion();
+            int minor = md.getDatabaseMinorVersion();
+            boolean supported = (product.contains("postgresql") && (major > 9 || (major == 9 && minor >= 5)))
+                    || (product.contains("mariadb") && (major > 10 || (major == 10 && minor >= 6)))
+                    || (product.contains("mysql") && major >= 8)
+                    || product.contains("oracle");
+            return supported ? OutboxProperties.ClaimMode.SKIP_LOCKED : OutboxProperties.ClaimMode.LEASE;
+        } catch (Exception e) {
+            log.warn("Outbox claim mode detection failed, fallback to LEASE. error={}", e.getMessage());
+            return OutboxProperties.ClaimMode.LEASE;
+        }
+    }
+
+    private static String defaultOwnerId() {
+        String host = "unknown";
+        try { host = InetAddress.getLocalHost().getHostName(); } catch (Exception ignored) {}
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
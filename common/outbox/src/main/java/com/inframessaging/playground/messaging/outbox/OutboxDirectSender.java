@@ -0,0 +1,126 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커밋 직후 직접 전송(fast path)
+ * - 발행 시 행을 이 노드 임대(lease)로 미리 잡아 두어, 직접 전송 중에는 폴링이 같은 행을 가져가지 않습니다.
+ * - 발행 트랜잭션이 커밋되면 반영 스레드(completionPool)로 넘겨 바로 전송하고, ack 시 SENT로 전이합니다.
+ *   커밋한 요청 스레드는 전송/자리 대기를 하지 않습니다.
+ * - 전송은 OutboxProcessor와 같은 in-flight window(outbox.send.max-in-flight)를 거치므로 두 경로를 합쳐도 상한을 넘지 않습니다.
+ * - 실패/타임아웃은 폴링 경로와 같은 실패 전이(retry_count 증가, 백오프 nextAttemptAt, DEAD/DLQ)로 반영합니다.
+ *   전송 전에 프로세스가 죽으면 임대 만료 후 폴링이 전송하므로 Outbox의 전달 보장은 그대로입니다.
+ * - outbox.enabled=true 이고 outbox.direct-send.enabled=true 일 때만 동작합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = {"enabled", "direct-send.enabled"}, havingValue = "true")
+public class OutboxDirectSender {
+
+    /** 전송 window(in-flight 상한)와 실패 전이를 폴링 경로와 공유 */
+    private final OutboxProcessor processor;
+    private final OutboxStatusUpdater statusUpdater;
+    private final OutboxClaimer claimer;
+    private final OutboxProperties properties;
+    private final OutboxWakeup wakeup;
+
+    /** 전송 내보내기와 ack 이후 상태 반영 스레드(요청 스레드/브로커 I/O 스레드에서 대기나 DB 작업을 하지 않기 위함) */
+    private ExecutorService completionPool;
+
+    @PostConstruct
+    void init() {
+        completionPool = Executors.newFixedThreadPool(Math.max(1, properties.getDirectSend().getCompletionThreads()),
+                new CustomizableThreadFactory("outbox-direct-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        completionPool.shutdown();
+    }
+
+    /**
+     * 적재 전 엔티티에 이 노드의 임대를 기록합니다. PENDING 행만 대상입니다.
+     */
+    void preLease(OutboxEventEntity e) {
+        if (e.getStatus() != OutboxEventStatus.PENDING) return;
+        e.setLeaseOwner(claimer.getOwnerId());
+        e.setLeaseUntil(Instant.now().plusSeconds(Math.max(1, properties.getClaim().getLeaseSeconds())));
+    }
+
+    /**
+     * 커밋된 행들을 전송하고, 모든 ack가 도착하면 결과 그룹별로 상태를 반영합니다.
+     * - 호출(커밋) 스레드에서는 반영 스레드로 넘기기만 하고 기다리지 않습니다.
+     * - 내보내기(window 자리 대기 + 동기 send)는 커밋 시점부터 ack-timeout까지로 묶어, 전송이 미리 잡아 둔 임대 안에서 끝나게 합니다.
+     */
+    void sendCommitted(List<OutboxEventEntity> rows) {
+        List<OutboxEventEntity> targets = new ArrayList<>(rows.size());
+        for (OutboxEventEntity e : rows) {
+            if (e.getStatus() == OutboxEventStatus.PENDING && e.getLeaseOwner() != null) targets.add(e);
+        }
+        // 직렬화 실패(FAILED) 등 직접 전송 대상이 아닌 행은 폴링이 처리하도록 깨웁니다.
+        if (targets.size() < rows.size()) wakeup.signal();
+        if (targets.isEmpty()) return;
+
+        long permitDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getSend().getAckTimeoutMs()));
+        try {
+            completionPool.execute(() -> dispatch(targets, permitDeadline));
+        } catch (RejectedExecutionException ex) {
+            // 종료 중이면 전송하지 않습니다. 임대 만료 후 폴링이 전송합니다.
+            log.debug("[OutboxDirect] direct send rejected, {} rows will be sent by polling", targets.size());
+        }
+    }
+
+    private void dispatch(List<OutboxEventEntity> targets, long permitDeadline) {
+        List<CompletableFuture<Void>> acks = new ArrayList<>(targets.size());
+        for (OutboxEventEntity e : targets) {
+            acks.add(processor.dispatch(e, permitDeadline));
+        }
+        // 종료 중 등으로 반영 작업이 거부되면 상태가 반영되지 않고, 임대 만료 후 폴링이 다시 전송합니다.
+        CompletableFuture.allOf(acks.toArray(new CompletableFuture[0]))
+                .handleAsync((v, ex) -> {
+                    complete(targets, acks);
+                    return null;
+                }, completionPool);
+    }
+
+    private void complete(List<OutboxEventEntity> targets, List<CompletableFuture<Void>> acks) {
+        List<Long> sentIds = new ArrayList<>(targets.size());
+        List<Long> unsentIds = new ArrayList<>();
+        List<OutboxEventEntity> failed = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            OutboxEventEntity e = targets.get(i);
+            if (OutboxProcessor.isUndispatched(acks.get(i))) unsentIds.add(e.getId());
+            else if (processor.applyOutcome(e, acks.get(i))) sentIds.add(e.getId());
+            else failed.add(e);
+        }
+        String owner = claimer.getOwnerId();
+        try {
+            if (!sentIds.isEmpty()) statusUpdater.markSent(sentIds, Instant.now(), owner);
+            // 마감 안에 내보내지 못한 행은 임대만 풀어 폴링이 바로 이어받게 합니다.
+            if (!unsentIds.isEmpty()) statusUpdater.releaseLease(unsentIds, owner);
+            if (!failed.isEmpty()) {
+                statusUpdater.markFailed(failed, owner);
+                log.warn("[OutboxDirect] direct send failed for {} rows, retrying via polling after backoff", failed.size());
+            }
+        } catch (Exception ex) {
+            // 상태 반영 실패 시 임대 만료 후 폴링이 다시 전송합니다(at-least-once).
+            log.warn("[OutboxDirect] status update failed, rows will be retried by polling. error={}", ex.getMessage(), ex);
+        }
+    }
+}
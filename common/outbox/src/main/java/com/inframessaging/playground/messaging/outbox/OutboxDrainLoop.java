@@ -0,0 +1,95 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outbox 드레인 루프(적응형 폴링)
+ * - 고정 주기 @Scheduled 대신 전용 스레드에서 OutboxProcessor.process()를 반복 호출합니다.
+ * - 배치가 가득 찼으면(적체) 쉬지 않고 바로 다음 배치를 처리합니다.
+ * - 일부만 찼으면 schedule.delay-ms 만큼, 비어 있으면 대기 시간을 두 배씩 늘려 schedule.max-delay-ms까지 백오프합니다.
+ * - 대기 중 OutboxWakeup 신호(발행 트랜잭션 커밋)가 오면 즉시 깨어나 처리하고 대기 시간을 초기화합니다.
+ * - schedule.adaptive=false 이면 항상 schedule.delay-ms 간격으로 폴링합니다(기존 동작).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDrainLoop implements SmartLifecycle {
+
+    private final OutboxProcessor processor;
+    private final OutboxWakeup wakeup;
+    private final OutboxProperties properties;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "outbox-drain");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread t = thread;
+        if (t == null) return;
+        t.interrupt();
+        try {
+            // 진행 중인 배치는 임대 시간 안에 끝나도록 검증되어 있으므로 그만큼만 기다립니다.
+            t.join(Math.max(1, properties.getClaim().getLeaseSeconds()) * 1000L);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        OutboxProperties.Schedule schedule = properties.getSchedule();
+        long baseDelay = Math.max(1, schedule.getDelayMs());
+        long maxDelay = Math.max(baseDelay, schedule.getMaxDelayMs());
+        long idleDelay = baseDelay;
+        while (running) {
+            int processed;
+            try {
+                processed = processor.process();
+            } catch (Exception ex) {
+                log.error("Outbox drain cycle failed", ex);
+                processed = 0;
+            }
+            if (!running) break;
+
+            long waitMs;
+            if (!schedule.isAdaptive()) {
+                waitMs = baseDelay;
+            } else if (processed >= Math.max(1, properties.getBatch().getSize())) {
+                // 적체: 대기 없이 바로 다음 배치
+                idleDelay = baseDelay;
+                continue;
+            } else if (processed > 0) {
+                idleDelay = baseDelay;
+                waitMs = baseDelay;
+            } else {
+                waitMs = idleDelay;
+                idleDelay = Math.min(idleDelay * 2, maxDelay);
+            }
+            try {
+                if (wakeup.await(waitMs)) idleDelay = baseDelay;
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("Outbox drain loop stopped");
+    }
+}
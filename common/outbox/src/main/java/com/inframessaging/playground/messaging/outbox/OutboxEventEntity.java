@@ -3,6 +3,8 @@ package com.inframessaging.playground.messaging.outbox;
 import com.inframessaging.playground.messaging.api.BrokerType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 
@@ -11,6 +13,7 @@ import java.time.Instant;
  * - 메시지 브로커(Kafka/RabbitMQ)로 실제 전송되기 전에 안전하게 DB에 저장합니다.
  * - 전송 성공/실패/재시도/DEAD 전이 상태를 관리합니다.
  * - 직렬화된 Envelope(JSON)를 그대로 저장하여 운영/디버깅 가시성을 확보합니다.
+ * - 스키마(인덱스 포함)는 Flyway 마이그레이션(classpath:db/migration/{vendor}: h2, mysql, postgresql)으로만 관리합니다. Outbox를 쓰는 서비스가 flyway-core를 추가합니다.
  */
 @Entity
 @Table(name = "event_outbox")
@@ -22,10 +25,13 @@ import java.time.Instant;
 public class OutboxEventEntity {
 
     /**
-     * Outbox PK (auto increment). 단순 식별자이며 비즈니스 키는 아닙니다.
+     * Outbox PK (시퀀스, pooled). 단순 식별자이며 비즈니스 키는 아닙니다.
+     * - IDENTITY는 INSERT마다 생성 키를 받아야 해서 Hibernate JDBC 배치가 꺼지므로 시퀀스를 사용합니다.
+     * - allocationSize만큼 ID를 미리 할당받아 시퀀스 조회도 50건당 1회로 줄입니다(DB 시퀀스 INCREMENT BY와 일치해야 함).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+    @SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -64,13 +70,38 @@ public class OutboxEventEntity {
     private String messageKey;
 
     /**
-     * 직렬화된 Envelope(JSON) 문자열.
+     * 직렬화된 Envelope 바이트(인코딩은 contentType, 기본 UTF-8 JSON).
      * - Envelope에는 id, type, version, occurredAt, producer, trace, routing, payload가 포함됩니다.
-     * - 전송 시 이 JSON이 그대로 브로커로 송신됩니다.
+     * - 전송 시 이 바이트가 변환 없이 그대로 브로커로 송신됩니다(문자열 디코딩/재인코딩 없음).
+     * - 컬럼 타입은 벤더별 마이그레이션이 정합니다(H2 BLOB, MySQL LONGBLOB, PostgreSQL BYTEA).
+     * - LONG32VARBINARY로 명시하여 모든 DB에서 LOB 로케이터/OID 없이 바이트 배열(setBytes/getBytes)로 바인딩합니다.
+     *   (기본 매핑은 VARBINARY(255), @Lob은 PostgreSQL에서 OID로 매핑되어 BYTEA 컬럼과 맞지 않습니다.)
      */
-    @Lob
-    @Column(name = "envelope", columnDefinition = "CLOB")
-    private String envelope;
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "envelope")
+    private byte[] envelope;
+
+    /**
+     * 발행 시점에 계산한 브로커 헤더(X-Event-Type, X-Event-Version, X-Trace-Id 등). 형식은 OutboxHeaders 참고.
+     * - 전송/DLQ 시 Envelope 본문을 파싱하지 않고 이 값을 Kafka RecordHeaders / Rabbit MessageProperties로 사용합니다.
+     * - null이면(이전 행, 직렬화 실패 등) 전송 시 본문에서 추출합니다.
+     */
+    @Column(name = "headers", length = OutboxHeaders.MAX_LENGTH)
+    private String headers;
+
+    /**
+     * envelope 본문의 인코딩(EnvelopeCodec content type). 전송 시 X-Content-Type 헤더로 나갑니다.
+     * - null이면(이전 행) JSON으로 취급합니다.
+     */
+    @Column(name = "content_type", length = 64)
+    private String contentType;
+
+    /**
+     * envelope 본문의 압축 방식(예: gzip). 전송 시 X-Content-Encoding 헤더로 나갑니다.
+     * - null이면 압축하지 않은 본문입니다.
+     */
+    @Column(name = "content_encoding", length = 16)
+    private String contentEncoding;
 
     /**
      * Outbox 상태
@@ -119,6 +150,20 @@ public class OutboxEventEntity {
     @Column(name = "sent_at")
     private Instant sentAt;
 
+    /**
+     * 임대(lease) 소유자. 행을 선점(claim)한 Processor 노드 식별자입니다.
+     * - 전송 결과가 반영되면 다시 null로 해제됩니다.
+     */
+    @Column(name = "lease_owner", length = 128)
+    private String leaseOwner;
+
+    /**
+     * 임대 만료 시각. 이 시각 이전에는 다른 노드가 같은 행을 선점하지 않습니다.
+     * - 소유 노드가 죽더라도 만료 후에는 다른 노드가 이어받아 재전송합니다.
+     */
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
     /**
      * 낙관적 락 버전. 다중 인스턴스 동시 처리 시 중복 전송을 줄이는 데 도움됩니다.
      */
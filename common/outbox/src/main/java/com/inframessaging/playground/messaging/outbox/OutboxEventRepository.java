@@ -1,12 +1,18 @@
 package com.inframessaging.playground.messaging.outbox;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,9 +25,93 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity,
      * 처리 가능한(전송 대상) 이벤트 배치를 조회합니다.
      * - 대상 상태: PENDING(미전송) + FAILED(재시도 대상)
      * - 스케줄 기준: nextAttemptAt가 null(즉시) 이거나 now 이하(기한 도래)
+     * - 임대 기준: 다른 노드가 선점하지 않았거나(leaseUntil null) 임대가 만료된 건
      * - 정렬: createdAt ASC (오래된 것부터 처리)
      * - Pageable의 size로 배치 크기를 제한합니다.
      */
-    @Query("select e from OutboxEventEntity e where e.status in (com.inframessaging.playground.messaging.outbox.OutboxEventStatus.PENDING, com.inframessaging.playground.messaging.outbox.OutboxEventStatus.FAILED) and (e.nextAttemptAt is null or e.nextAttemptAt <= :now) order by e.createdAt asc")
+    @Query("select e from OutboxEventEntity e where e.status in (com.inframessaging.playground.messaging.outbox.OutboxEventStatus.PENDING, com.inframessaging.playground.messaging.outbox.OutboxEventStatus.FAILED) and (e.nextAttemptAt is null or e.nextAttemptAt <= :now) and (e.leaseUntil is null or e.leaseUntil < :now) order by e.createdAt asc")
     List<OutboxEventEntity> findProcessable(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * findProcessable과 동일한 조건을 SELECT ... FOR UPDATE SKIP LOCKED로 조회합니다.
+     * - lock.timeout = -2 는 Hibernate에서 SKIP LOCKED를 의미하며, Dialect가 DB별 문법으로 변환합니다.
+     * - 다른 트랜잭션이 잠근 행은 기다리지 않고 건너뛰므로 여러 노드가 서로 다른 행을 가져갑니다.
+     * - 반드시 트랜잭션 안에서 호출해야 합니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEventEntity e where e.status in (com.inframessaging.playground.messaging.outbox.OutboxEventStatus.PENDING, com.inframessaging.playground.messaging.outbox.OutboxEventStatus.FAILED) and (e.nextAttemptAt is null or e.nextAttemptAt <= :now) and (e.leaseUntil is null or e.leaseUntil < :now) order by e.createdAt asc")
+    List<OutboxEventEntity> findProcessableSkipLocked(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * findProcessable과 동일한 조건의 id만 조회합니다(LEASE 모드의 후보 선정용, envelope 로딩 없음).
+     */
+    @Query("select e.id from OutboxEventEntity e where e.status in (com.inframessaging.playground.messaging.outbox.OutboxEventStatus.PENDING, com.inframessaging.playground.messaging.outbox.OutboxEventStatus.FAILED) and (e.nextAttemptAt is null or e.nextAttemptAt <= :now) and (e.leaseUntil is null or e.leaseUntil < :now) order by e.createdAt asc")
+    List<Long> findProcessableIds(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * 후보 행들에 대해 조건부로 임대를 획득합니다(LEASE 모드).
+     * - 아직 아무도 선점하지 않았거나 임대가 만료된 행만 갱신되므로, 동시에 실행되어도 한 노드만 성공합니다.
+     * - version을 증가시켜 이전 소유자의 늦은 상태 저장이 낙관적 락으로 거부되도록 합니다.
+     * @return 임대를 획득한 행 수
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update OutboxEventEntity e set e.leaseOwner = :owner, e.leaseUntil = :until, e.version = e.version + 1 where e.id in :ids and e.status in (com.inframessaging.playground.messaging.outbox.OutboxEventStatus.PENDING, com.inframessaging.playground.messaging.outbox.OutboxEventStatus.FAILED) and (e.leaseUntil is null or e.leaseUntil < :now)")
+    int acquireLease(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("until") Instant until, @Param("now") Instant now);
+
+    /**
+     * 지정한 소유자가 임대 중인 행을 createdAt 순으로 조회합니다.
+     */
+    @Query("select e from OutboxEventEntity e where e.leaseOwner = :owner and e.id in :ids order by e.createdAt asc")
+    List<OutboxEventEntity> findLeased(@Param("owner") String owner, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 전송 성공 행을 한 번의 UPDATE로 SENT 전이합니다(엔티티 로딩/더티 체킹 없음, envelope 컬럼 미갱신).
+     * - 현재 임대 소유자가 owner인 행만 갱신하여, 임대를 잃은 노드의 늦은 반영을 막습니다.
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query("update OutboxEventEntity e set e.status = com.inframessaging.playground.messaging.outbox.OutboxEventStatus.SENT, e.sentAt = :sentAt, e.updatedAt = :sentAt, e.leaseOwner = null, e.leaseUntil = null, e.version = e.version + 1 where e.id in :ids and e.leaseOwner = :owner")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Instant sentAt, @Param("owner") String owner);
+
+    /**
+     * 상태는 그대로 두고 임대만 해제하여 다음 폴링에서 바로 선점될 수 있게 합니다(전송을 내보내지 못한 배치).
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query("update OutboxEventEntity e set e.leaseOwner = null, e.leaseUntil = null, e.version = e.version + 1 where e.id in :ids and e.leaseOwner = :owner")
+    int releaseLease(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    /**
+     * 보존 기간이 지난 SENT 행의 id를 오래된 순으로 조회합니다(보존 정책 청크 단위).
+     */
+    @Query("select e.id from OutboxEventEntity e where e.status = com.inframessaging.playground.messaging.outbox.OutboxEventStatus.SENT and e.sentAt < :cutoff order by e.id asc")
+    List<Long> findSentIdsBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * 마지막 갱신 후 보존 기간이 지난 DEAD 행의 id를 오래된 순으로 조회합니다(보존 정책 청크 단위).
+     */
+    @Query("select e.id from OutboxEventEntity e where e.status = com.inframessaging.playground.messaging.outbox.OutboxEventStatus.DEAD and e.updatedAt < :cutoff order by e.id asc")
+    List<Long> findDeadIdsBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * 지정 상태의 행을 id 목록으로 삭제합니다(조회와 삭제 사이 상태가 바뀐 행은 제외).
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("delete from OutboxEventEntity e where e.id in :ids and e.status = :status")
+    int deleteByIdsAndStatus(@Param("ids") Collection<Long> ids, @Param("status") OutboxEventStatus status);
+
+    /**
+     * 미전송(PENDING/FAILED) 및 DEAD 행 수를 상태/브로커/목적지(topic 또는 exchange)별로 집계합니다(메트릭용).
+     * @return [status, brokerType, destination, count]
+     */
+    @Query("select e.status, e.brokerType, coalesce(e.kafkaTopic, e.rabbitExchange), count(e) from OutboxEventEntity e where e.status in (com.inframessaging.playground.messaging.outbox.OutboxEventStatus.PENDING, com.inframessaging.playground.messaging.outbox.OutboxEventStatus.FAILED, com.inframessaging.playground.messaging.outbox.OutboxEventStatus.DEAD) group by e.status, e.brokerType, coalesce(e.kafkaTopic, e.rabbitExchange)")
+    List<Object[]> countBacklog();
+
+    /**
+     * 가장 오래된 미전송(PENDING/FAILED) 행의 생성 시각(없으면 null, 메트릭용).
+     */
+    @Query("select min(e.createdAt) from OutboxEventEntity e where e.status in (com.inframessaging.playground.messaging.outbox.OutboxEventStatus.PENDING, com.inframessaging.playground.messaging.outbox.OutboxEventStatus.FAILED)")
+    Instant findOldestPendingCreatedAt();
 }
@@ -0,0 +1,105 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.EventHeaders;
+import com.inframessaging.playground.messaging.producer.EventProducer;
+import com.fasterxml.jackson.core.JsonParser;
+import deser.EnvelopeCodecs;
+import deser.EnvelopeCompression;
+import deser.JsonEnvelopeCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outbox 행 1건을 브로커로 내보내는 공통 전송 로직
+ * - 폴링 경로(OutboxProcessor)와 커밋 직후 직접 전송 경로(OutboxDirectSender)가 함께 사용합니다.
+ * - 헤더는 발행 시점에 저장된 headers 컬럼을 사용하고, 없을 때만 Envelope 본문에서 추출합니다.
+ * - 본문 인코딩(content_type 컬럼, 없으면 JSON)은 항상 X-Content-Type 헤더로 함께 내보냅니다.
+ * - 압축된 행(content_encoding 컬럼)은 X-Content-Encoding 헤더를 붙입니다.
+ * - 행 id는 X-Outbox-Id 헤더로 내보내며, Producer가 전송 결과 상관 ID로 사용합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxEventSender {
+
+    /** 실제 전송을 수행하는 Producer */
+    private final EventProducer producer;
+    /** Envelope 처리용(헤더가 저장되지 않은 행에 한해 사용) */
+    private final ObjectMapper objectMapper;
+    /** 헤더가 저장되지 않은 행의 본문을 content type에 맞게 읽기 위한 코덱 */
+    private final EnvelopeCodecs codecs;
+
+    /**
+     * 브로커 타입에 따라 전송합니다. 예외는 밖으로 던지지 않고 실패한 future로 반환합니다.
+     * - 반환된 future는 브로커 ack 시 완료됩니다(타임아웃은 호출자가 적용).
+     */
+    public CompletableFuture<Void> send(OutboxEventEntity e) {
+        try {
+            Map<String, String> headers = headersOf(e);
+            if (e.getBrokerType() == BrokerType.KAFKA) {
+                return producer.sendKafka(e.getKafkaTopic(), e.getMessageKey(), e.getEnvelope(), headers);
+            }
+            return producer.sendRabbit(e.getRabbitExchange(), e.getRabbitRoutingKey(), e.getEnvelope(), headers);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * 전송 헤더: 발행 시점에 저장된 headers 컬럼을 디코딩합니다.
+     * 컬럼이 비어 있는 행(이전 스키마로 적재된 행 등)만 Envelope 본문을 파싱합니다.
+     */
+    public Map<String, String> headersOf(OutboxEventEntity e) {
+        String contentType = e.getContentType() != null ? e.getContentType() : JsonEnvelopeCodec.CONTENT_TYPE;
+        Map<String, String> headers = e.getHeaders() != null
+                ? OutboxHeaders.decode(e.getHeaders())
+                : buildHeadersSafely(e.getEnvelope(), contentType);
+        headers.put(EventHeaders.CONTENT_TYPE, contentType);
+        if (e.getContentEncoding() != null) {
+            headers.put(EventHeaders.CONTENT_ENCODING, e.getContentEncoding());
+        }
+        if (e.getId() != null) {
+            headers.put(EventHeaders.OUTBOX_ID, e.getId().toString());
+        }
+        return headers;
+    }
+
+    /**
+     * Envelope 본문(contentType 코덱으로 읽음)에서 공통 헤더 값을 추출합니다. 실패 시 안전한 기본값을 사용합니다.
+     */
+    private Map<String, String> buildHeadersSafely(byte[] envelope, String contentType) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(EventHeaders.EVENT_TYPE, "unknown");
+        headers.put(EventHeaders.EVENT_VERSION, "0");
+        headers.put(EventHeaders.TRACE_ID, "");
+        headers.put(EventHeaders.OCCURRED_AT, "");
+        headers.put(EventHeaders.PRODUCER_SERVICE, "");
+        if (envelope == null || envelope.length == 0) return headers;
+        try (JsonParser parser = EnvelopeCompression.parser(codecs.forContentType(contentType), envelope, codecs.maxDecompressedBytes())) {
+            JsonNode root = objectMapper.readTree(parser);
+            JsonNode id = root.get("id");
+            JsonNode type = root.get("type");
+            JsonNode version = root.get("version");
+            JsonNode occurredAt = root.get("occurredAt");
+            JsonNode trace = root.get("trace");
+            JsonNode producer = root.get("producer");
+            if (id != null) headers.put(EventHeaders.EVENT_ID, id.asText());
+            if (type != null) headers.put(EventHeaders.EVENT_TYPE, type.asText());
+            if (version != null) headers.put(EventHeaders.EVENT_VERSION, version.asText());
+            if (occurredAt != null) headers.put(EventHeaders.OCCURRED_AT, occurredAt.asText());
+            if (trace != null && trace.get("traceId") != null) headers.put(EventHeaders.TRACE_ID, trace.get("traceId").asText());
+            if (producer != null && producer.get("service") != null) headers.put(EventHeaders.PRODUCER_SERVICE, producer.get("service").asText());
+        } catch (Exception ignored) {
+            // 파싱 실패 시 기본값 유지
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,82 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.EventHeaders;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outbox headers 컬럼 인코딩/디코딩
+ * - 발행 시점에 이미 메모리에 있는 Envelope 메타로 브로커 헤더 집합을 한 번만 계산해 저장합니다.
+ * - 전송/DLQ 시에는 이 컬럼만 디코딩하므로 Envelope 본문 전체를 JSON 트리로 파싱하지 않습니다.
+ * - 형식: "이름=값" 항목을 줄바꿈으로 구분합니다. 값의 '\' 와 줄바꿈은 '\\', '\n'으로 이스케이프합니다.
+ */
+final class OutboxHeaders {
+
+    /** headers 컬럼 길이. 초과 시 저장하지 않고(null) 전송 시 본문 파싱으로 대체합니다. */
+    static final int MAX_LENGTH = 1024;
+
+    private OutboxHeaders() {
+    }
+
+    /** Envelope 메타로 브로커 헤더 집합을 만듭니다. */
+    static Map<String, String> of(Envelope<?> envelope) {
+        Map<String, String> headers = new LinkedHashMap<>(8);
+        headers.put(EventHeaders.EVENT_ID, nullToEmpty(envelope.getId()));
+        headers.put(EventHeaders.EVENT_TYPE, envelope.getType() == null ? "unknown" : envelope.getType());
+        headers.put(EventHeaders.EVENT_VERSION, String.valueOf(envelope.getVersion()));
+        headers.put(EventHeaders.TRACE_ID, envelope.getTrace() == null ? "" : nullToEmpty(envelope.getTrace().getTraceId()));
+        headers.put(EventHeaders.OCCURRED_AT, envelope.getOccurredAt() == null ? "" : envelope.getOccurredAt().toString());
+        headers.put(EventHeaders.PRODUCER_SERVICE, envelope.getProducer() == null ? "" : nullToEmpty(envelope.getProducer().getService()));
+        return headers;
+    }
+
+    /** 컬럼 저장용 문자열로 인코딩합니다. 길이 제한을 넘으면 null을 반환합니다. */
+    static String encode(Map<String, String> headers) {
+        StringBuilder sb = new StringBuilder(256);
+        for (Map.Entry<String, String> h : headers.entrySet()) {
+            if (sb.length() > 0) sb.append('\n');
+            sb.append(h.getKey()).append('=');
+            String v = h.getValue();
+            for (int i = 0; i < v.length(); i++) {
+                char c = v.charAt(i);
+                if (c == '\\') sb.append("\\\\");
+                else if (c == '\n') sb.append("\\n");
+                else sb.append(c);
+            }
+        }
+        return sb.length() > MAX_LENGTH ? null : sb.toString();
+    }
+
+    /** 컬럼 값을 헤더 맵으로 디코딩합니다. 반환된 맵은 호출자가 수정해도 됩니다. */
+    static Map<String, String> decode(String encoded) {
+        Map<String, String> headers = new HashMap<>(12);
+        int start = 0;
+        int len = encoded.length();
+        while (start < len) {
+            int eq = encoded.indexOf('=', start);
+            if (eq < 0) break;
+            StringBuilder value = new StringBuilder();
+            int i = eq + 1;
+            for (; i < len; i++) {
+                char c = encoded.charAt(i);
+                if (c == '\n') break;
+                if (c == '\\' && i + 1 < len) {
+                    char n = encoded.charAt(++i);
+                    value.append(n == 'n' ? '\n' : n);
+                } else {
+                    value.append(c);
+                }
+            }
+            headers.put(encoded.substring(start, eq), value.toString());
+            start = i + 1;
+        }
+        return headers;
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
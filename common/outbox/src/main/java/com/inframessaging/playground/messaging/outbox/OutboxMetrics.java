@@ -0,0 +1,150 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.inframessaging.playground.messaging.api.BrokerType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox 파이프라인 Micrometer 메트릭(actuator /actuator/metrics 로 노출)
+ * - outbox.backlog{status,broker,destination}: 미전송(PENDING/FAILED)·DEAD 행 수
+ * - outbox.oldest.pending.age: 가장 오래된 미전송 행의 나이(초)
+ * - outbox.publish.lag: 적재(created_at) → 전송 확인(sent_at) 지연
+ * - outbox.send.latency{broker,destination,outcome}: 전송 → 브로커 ack 지연
+ * - outbox.send.retries{broker} / outbox.send.dead{broker}: 재시도(FAILED) / DEAD 전이 수
+ * - outbox.batch.size / outbox.poll.duration / outbox.batch.duration: 배치 크기, 선점 쿼리 시간, 배치 전체 처리 시간
+ * - backlog/oldest 값은 집계 쿼리가 필요하므로 outbox.metrics.backlog-refresh-ms 주기로 갱신합니다
+ *   (@Scheduled 기반이므로 애플리케이션에 @EnableScheduling이 필요합니다).
+ * - MeterRegistry 빈이 없으면 Metrics.globalRegistry에 등록합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxMetrics {
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final OutboxEventRepository repository;
+
+    private MeterRegistry registry;
+    private MultiGauge backlog;
+    /** 가장 오래된 미전송 행 나이(초). 미전송 행이 없으면 0 */
+    private volatile double oldestPendingAgeSeconds;
+    private Timer publishLag;
+    private DistributionSummary batchSize;
+    private Timer pollDuration;
+    private Timer batchDuration;
+    /** (broker, destination, outcome)별 전송 지연 타이머 캐시(전송마다 태그/이름 조회를 피함) */
+    private final ConcurrentMap<String, Timer> sendTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<BrokerType, Counter> retryCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<BrokerType, Counter> deadCounters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        registry = registryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        backlog = MultiGauge.builder("outbox.backlog")
+                .description("Outbox rows not yet sent (PENDING/FAILED) and DEAD rows")
+                .register(registry);
+        Gauge.builder("outbox.oldest.pending.age", this, m -> m.oldestPendingAgeSeconds)
+                .description("Age of the oldest PENDING/FAILED row")
+                .baseUnit("seconds")
+                .register(registry);
+        publishLag = Timer.builder("outbox.publish.lag")
+                .description("Time from outbox insert (created_at) to broker ack (sent_at)")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        batchSize = DistributionSummary.builder("outbox.batch.size")
+                .description("Rows claimed per drain cycle")
+                .register(registry);
+        pollDuration = Timer.builder("outbox.poll.duration")
+                .description("Claim query duration per drain cycle")
+                .register(registry);
+        batchDuration = Timer.builder("outbox.batch.duration")
+                .description("Claim + send + status update duration per non-empty batch")
+                .register(registry);
+    }
+
+    /** backlog / oldest-pending 값을 DB 집계로 갱신합니다. */
+    @Scheduled(fixedDelayString = "${outbox.metrics.backlog-refresh-ms:15000}", initialDelayString = "${outbox.metrics.backlog-refresh-ms:15000}")
+    public void refreshBacklog() {
+        try {
+            List<MultiGauge.Row<?>> rows = new ArrayList<>();
+            for (Object[] r : repository.countBacklog()) {
+                Tags tags = Tags.of("status", String.valueOf(r[0]), "broker", String.valueOf(r[1]),
+                        "destination", r[2] == null ? "none" : String.valueOf(r[2]));
+                rows.add(MultiGauge.Row.of(tags, ((Number) r[3]).doubleValue()));
+            }
+            backlog.register(rows, true);
+            Instant oldest = repository.findOldestPendingCreatedAt();
+            oldestPendingAgeSeconds = oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis() / 1000.0);
+        } catch (Exception ex) {
+            log.warn("[OutboxMetrics] backlog refresh failed. error={}", ex.getMessage());
+        }
+    }
+
+    /** 선점 쿼리 시간과 선점 건수(빈 폴링 포함) */
+    void recordPoll(long nanos, int claimed) {
+        pollDuration.record(nanos, TimeUnit.NANOSECONDS);
+        batchSize.record(claimed);
+    }
+
+    /** 비어 있지 않은 배치의 전체 처리 시간 */
+    void recordBatch(long nanos) {
+        batchDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** 전송 → ack(또는 실패/타임아웃) 지연 */
+    void recordSend(OutboxEventEntity e, long nanos, boolean success) {
+        String destination = destinationOf(e);
+        String outcome = success ? "success" : "failure";
+        String key = e.getBrokerType() + "|" + destination + "|" + outcome;
+        sendTimers.computeIfAbsent(key, k -> Timer.builder("outbox.send.latency")
+                        .description("Time from handing a row to the producer until broker ack")
+                        .tags("broker", String.valueOf(e.getBrokerType()), "destination", destination, "outcome", outcome)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** 적재 → 전송 확인 지연 */
+    void recordSent(OutboxEventEntity e, Instant sentAt) {
+        if (e.getCreatedAt() != null) {
+            publishLag.record(Duration.between(e.getCreatedAt(), sentAt));
+        }
+    }
+
+    /** FAILED(재시도 예약) 또는 DEAD 전이 */
+    void recordFailure(OutboxEventEntity e) {
+        boolean dead = e.getStatus() == OutboxEventStatus.DEAD;
+        ConcurrentMap<BrokerType, Counter> counters = dead ? deadCounters : retryCounters;
+        counters.computeIfAbsent(e.getBrokerType(), b -> Counter.builder(dead ? "outbox.send.dead" : "outbox.send.retries")
+                        .description(dead ? "Rows moved to DEAD after exhausting retries" : "Failed sends scheduled for retry")
+                        .tag("broker", String.valueOf(b))
+                        .register(registry))
+                .increment();
+    }
+
+    private static String destinationOf(OutboxEventEntity e) {
+        String d = e.getBrokerType() == BrokerType.KAFKA ? e.getKafkaTopic() : e.getRabbitExchange();
+        return d == null ? "none" : d;
+    }
+}
@@ -1,27 +1,45 @@
 package com.inframessaging.playground.messaging.outbox;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.EventHeaders;
+import com.inframessaging.playground.messaging.config.MessagingProperties;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
 import com.inframessaging.playground.messaging.producer.EventProducer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Outbox Processor
- * - 주기적으로 Outbox에서 전송 가능한 이벤트를 조회하여 브로커로 전송합니다.
+ * - OutboxDrainLoop의 호출마다 Outbox에서 전송 가능한 이벤트를 조회하여 브로커로 전송합니다.
  * - 성공 시 SENT, 실패 시 FAILED/DEAD로 상태를 갱신하며, 백오프(지수형 + 지터)에 따라 nextAttemptAt를 설정합니다.
  * - DEAD 전이 시 outbox.dead-letter.enabled=true 이면 DLQ로 즉시 복제 전송합니다.
+ * - 조회는 OutboxClaimer로 행을 선점(lease)하여 여러 노드가 같은 행을 중복 전송하지 않도록 합니다.
+ * - outbox.worker.shards > 1 이면 키 해시 기반 샤드 워커로 병렬 전송합니다(키 단위 순서 유지).
+ * - 전송은 비동기 파이프라인입니다. 최대 outbox.send.max-in-flight 건을 ack 대기 없이 내보내고,
+ *   브로커 ack(또는 실패/타임아웃)가 도착한 결과로만 상태를 전이합니다.
+ * - in-flight window와 실패 전이(재시도/백오프/DLQ)는 커밋 직후 직접 전송(OutboxDirectSender)도 함께 사용합니다.
+ * - 브로커 send 호출은 동기로 막힐 수 있으므로(Kafka max.block.ms, RabbitTemplate 블로킹 I/O) 행마다 내보내기 마감을 확인하고,
+ *   마감을 넘겨 내보내지 못한 행은 실패로 세지 않고 임대만 해제합니다.
  */
 @Slf4j
 @Component
@@ -29,139 +47,315 @@ import java.util.concurrent.ThreadLocalRandom;
 @ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class OutboxProcessor {
 
-    /** Outbox JPA 리포지토리 */
-    private final OutboxEventRepository repository;
+    /** 상태 전이 일괄 반영(SENT 단일 UPDATE / 실패 JDBC 배치) */
+    private final OutboxStatusUpdater statusUpdater;
+    /** 다중 인스턴스 행 선점(SKIP LOCKED / lease) */
+    private final OutboxClaimer claimer;
     /** 배치/재시도/스케줄 설정 프로퍼티 */
     private final OutboxProperties properties;
-    /** 실제 전송을 수행하는 Producer */
+    /** 단건 전송(헤더 구성 + 브로커 분기) */
+    private final OutboxEventSender sender;
+    /** DLQ 전송용 Producer */
     private final EventProducer producer;
-    /** Envelope(JSON) 처리용 */
-    private final ObjectMapper objectMapper;
+    /** 핫패스 로그 예산(배치 요약/실패 로그 샘플링) */
+    private final MessagingLogSampler logSampler;
+    /** 파이프라인 메트릭 */
+    private final OutboxMetrics metrics;
+    /** 브로커 send 차단 상한(messaging.kafka.max-block-ms) 조회용 */
+    private final MessagingProperties messagingProperties;
+
+    /** 샤드 워커 풀(worker.shards > 1 일 때만 생성) */
+    private ExecutorService workerPool;
+    /** ack 대기 중인 전송 수 상한(in-flight window) */
+    private Semaphore inFlight;
+    /** 재시도 지연 계산(지수 백오프 + 지터) */
+    private OutboxBackoffPolicy backoffPolicy;
+
+    @PostConstruct
+    void initWorkers() {
+        properties.validateLeaseBudget(messagingProperties.getKafka().getMaxBlockMs());
+        int shards = properties.getWorker().getShards();
+        if (shards > 1) {
+            workerPool = Executors.newFixedThreadPool(shards, new CustomizableThreadFactory("outbox-worker-"));
+        }
+        inFlight = new Semaphore(Math.max(1, properties.getSend().getMaxInFlight()));
+        backoffPolicy = new OutboxBackoffPolicy(properties.getRetry().getBackoff());
+    }
+
+    @PreDestroy
+    void shutdownWorkers() {
+        if (workerPool != null) workerPool.shutdown();
+    }
 
     /**
-     * 스케줄링 간격은 outbox.schedule.delay-ms로 조절합니다(기본 1000ms).
+     * 한 배치를 선점하여 전송하고 결과를 반영합니다. 호출 주기는 OutboxDrainLoop가 결정합니다.
+     * - worker.shards > 1 이면 배치를 키 해시로 샤드에 나누어 병렬 전송합니다(같은 키는 같은 샤드에서 순차 전송).
+     * - 모든 전송의 ack를 모은 뒤 호출 스레드에서 상태를 계산하고, 결과 그룹별 일괄 UPDATE로 반영합니다.
+     * @return 이번에 처리한 행 수(배치 크기와 같으면 적체 상태, 인터럽트로 중단하면 0)
      */
-    @Scheduled(fixedDelayString = "${outbox.schedule.delay-ms:1000}")
-    public void process() {
+    public int process() {
         int pageSize = Math.max(1, properties.getBatch().getSize());
-        List<OutboxEventEntity> batch = repository.findProcessable(Instant.now(), PageRequest.of(0, pageSize));
-        if (batch.isEmpty()) return;
+        long startNanos = System.nanoTime();
+        List<OutboxEventEntity> batch = claimer.claim(pageSize);
+        metrics.recordPoll(System.nanoTime() - startNanos, batch.size());
+        if (batch.isEmpty()) return 0;
+
+        // 임대 안에 끝나도록 배치 전체의 내보내기(자리 대기 + 동기 send)를 ack-timeout 한 번으로 묶습니다.
+        // (내보내기 ≤ ack-timeout + 마지막 send 차단 ≤ max-block-ms, 이후 ack 대기 ≤ ack-timeout → 기동 시 lease-seconds보다 짧게 검증됨)
+        long permitDeadline = startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getSend().getAckTimeoutMs()));
+        List<CompletableFuture<Void>> acks = workerPool == null ? dispatchAll(batch, permitDeadline) : dispatchSharded(batch, permitDeadline);
+        if (acks == null) {
+            releaseClaim(batch);
+            return 0;
+        }
+        // 각 ack는 ack-timeout으로 끝이 보장되므로 전체 완료까지 기다립니다.
+        CompletableFuture.allOf(acks.toArray(new CompletableFuture[0])).handle((v, ex) -> null).join();
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        List<Long> unsentIds = new ArrayList<>();
+        List<OutboxEventEntity> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEventEntity e = batch.get(i);
+            if (isUndispatched(acks.get(i))) unsentIds.add(e.getId());
+            else if (applyOutcome(e, acks.get(i))) sentIds.add(e.getId());
+            else failed.add(e);
+        }
+        // 결과 그룹별 일괄 반영(임대 만료 후 다른 노드가 이어받은 행은 lease_owner 조건으로 제외됩니다)
+        String owner = claimer.getOwnerId();
+        int updated = 0;
+        if (!sentIds.isEmpty()) updated += statusUpdater.markSent(sentIds, Instant.now(), owner);
+        if (!failed.isEmpty()) updated += statusUpdater.markFailed(failed, owner);
+        if (!unsentIds.isEmpty()) updated += statusUpdater.releaseLease(unsentIds, owner);
+        if (updated < batch.size()) {
+            log.warn("Outbox status update skipped for {} rows: lease taken over by another node", batch.size() - updated);
+        }
+        long tookNanos = System.nanoTime() - startNanos;
+        metrics.recordBatch(tookNanos);
+        // 이벤트마다가 아니라 배치마다 한 줄(그것도 초당 예산 안에서만) 남깁니다.
+        long skipped = logSampler.tryAcquireSummary("outbox.batch");
+        if (skipped >= 0) {
+            long dead = failed.stream().filter(e -> e.getStatus() == OutboxEventStatus.DEAD).count();
+            log.info("[Outbox] batch claimed={} sent={} failed={} dead={} unsent={} tookMs={} skippedBatches={}",
+                    batch.size(), sentIds.size(), failed.size() - dead, dead, unsentIds.size(),
+                    TimeUnit.NANOSECONDS.toMillis(tookNanos), skipped);
+        }
+        return batch.size();
+    }
+
+    /** 현재 스레드에서 배치 순서대로 전송을 내보냅니다. */
+    private List<CompletableFuture<Void>> dispatchAll(List<OutboxEventEntity> batch, long permitDeadline) {
+        List<CompletableFuture<Void>> acks = new ArrayList<>(batch.size());
         for (OutboxEventEntity e : batch) {
+            acks.add(dispatch(e, permitDeadline));
+        }
+        return acks;
+    }
+
+    /**
+     * 배치를 샤드별로 나누어 워커 풀에서 전송을 내보내고, 모든 샤드가 내보내기를 마칠 때까지 기다립니다.
+     * - createdAt 순으로 조회된 배치를 순서대로 분배하므로 샤드 내부(=같은 키)의 전송 순서가 유지됩니다.
+     * @return 배치와 같은 순서의 ack 목록(인터럽트 시 null: 호출자가 임대를 해제하고 상태 저장은 건너뜀)
+     */
+    @SuppressWarnings("unchecked")
+    private List<CompletableFuture<Void>> dispatchSharded(List<OutboxEventEntity> batch, long permitDeadline) {
+        int shards = properties.getWorker().getShards();
+        List<List<Integer>> partitions = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) partitions.add(new ArrayList<>());
+        for (int i = 0; i < batch.size(); i++) {
+            partitions.get(shardOf(batch.get(i), shards)).add(i);
+        }
+        CompletableFuture<Void>[] acks = new CompletableFuture[batch.size()];
+        List<Future<?>> futures = new ArrayList<>(shards);
+        for (List<Integer> partition : partitions) {
+            if (partition.isEmpty()) continue;
+            futures.add(workerPool.submit(() -> {
+                for (int idx : partition) acks[idx] = dispatch(batch.get(idx), permitDeadline);
+            }));
+        }
+        for (Future<?> f : futures) {
             try {
-                Map<String, String> headers = buildHeadersSafely(e.getEnvelope());
-
-                // 브로커 타입에 따라 전송 경로 분기
-                if (e.getBrokerType() == BrokerType.KAFKA) {
-                    producer.sendKafka(e.getKafkaTopic(), e.getMessageKey(), e.getEnvelope(), headers);
-                } else {
-                    producer.sendRabbit(e.getRabbitExchange(), e.getRabbitRoutingKey(), e.getEnvelope(), headers);
-                }
-
-                // 성공 전이
-                e.setStatus(OutboxEventStatus.SENT);
-                e.setSentAt(Instant.now());
-                e.setUpdatedAt(Instant.now());
-            } catch (Exception ex) {
-                // 실패 전이 및 재시도 카운트 증가
-                int attempts = e.getRetryCount() + 1;
-                e.setRetryCount(attempts);
-                boolean isDead = attempts >= properties.getRetry().getMaxAttempts();
-                e.setStatus(isDead ? OutboxEventStatus.DEAD : OutboxEventStatus.FAILED);
-                e.setLastErrorMessage(ex.getMessage());
-
-                long backoffSec = calcBackoffSeconds(attempts);
-                e.setNextAttemptAt(Instant.now().plusSeconds(backoffSec));
-                e.setUpdatedAt(Instant.now());
-
-                log.warn("Outbox send failed id={} attempts={} status={}", e.getId(), attempts, e.getStatus(), ex);
-
-                // DEAD 전이 시 DLQ 전송 옵션 처리
-                if (isDead && properties.getDeadLetter() != null && properties.getDeadLetter().isEnabled()) {
-                    try {
-                        Map<String, String> headers = buildHeadersSafely(e.getEnvelope());
-                        Map<String, String> dlqHeaders = buildDlqHeaders(headers, e.getLastErrorMessage());
-                        sendToDlq(e, dlqHeaders);
-                    } catch (Exception dlqEx) {
-                        log.warn("DLQ forward failed id={} reason={}", e.getId(), dlqEx.getMessage(), dlqEx);
-                    }
-                }
+                f.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                log.warn("Outbox sharded send interrupted; releasing leases of {} rows", batch.size());
+                return null;
+            } catch (ExecutionException ee) {
+                // dispatch는 예외를 future로 감싸므로 여기까지 오는 경우는 예기치 못한 오류뿐입니다.
+                log.error("Outbox shard worker failed", ee.getCause());
+            }
+        }
+        for (int i = 0; i < acks.length; i++) {
+            if (acks[i] == null) acks[i] = CompletableFuture.failedFuture(new NotDispatchedException("shard worker failed"));
+        }
+        return List.of(acks);
+    }
+
+    /**
+     * 처리하지 못한 배치의 임대를 해제합니다(상태/재시도 횟수는 그대로, 다음 폴링이 바로 이어받음).
+     * - 인터럽트 상태에서는 일부 JDBC 드라이버가 I/O를 거부하므로 플래그를 잠시 내렸다가 복원합니다.
+     */
+    private void releaseClaim(List<OutboxEventEntity> batch) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (OutboxEventEntity e : batch) ids.add(e.getId());
+            statusUpdater.releaseLease(ids, claimer.getOwnerId());
+        } catch (Exception ex) {
+            log.warn("Outbox lease release failed; rows will be retried after lease expiry: {}", ex.getMessage());
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 샤드 선택: Kafka는 messageKey, Rabbit은 routingKey의 해시를 사용합니다.
+     * 키가 없으면 순서 보장 대상이 아니므로 id로 고르게 분산합니다.
+     */
+    private int shardOf(OutboxEventEntity e, int shards) {
+        String key = e.getBrokerType() == BrokerType.KAFKA ? e.getMessageKey() : e.getRabbitRoutingKey();
+        int hash = key != null ? key.hashCode() : Long.hashCode(e.getId());
+        return Math.floorMod(hash, shards);
+    }
+
+    /**
+     * 단건 전송을 내보냅니다. 예외는 밖으로 던지지 않고 실패한 future로 반환합니다.
+     * - in-flight window가 가득 차면 ack가 돌아와 자리가 날 때까지 기다리되, 배치 공통 내보내기 마감(permitDeadline)을 넘기지 않습니다.
+     * - 앞선 send가 동기로 막혀 마감이 지났거나 자리를 얻지 못하면 내보내지 않고 NotDispatchedException으로 완료합니다(isUndispatched).
+     * - 반환된 future는 ack-timeout 안에 반드시 완료되며, 완료 시 window 자리를 반납합니다.
+     */
+    CompletableFuture<Void> dispatch(OutboxEventEntity e, long permitDeadline) {
+        long ackTimeoutMs = Math.max(1, properties.getSend().getAckTimeoutMs());
+        long remaining = permitDeadline - System.nanoTime();
+        if (remaining <= 0) {
+            return CompletableFuture.failedFuture(new NotDispatchedException("dispatch deadline passed"));
+        }
+        try {
+            if (!inFlight.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                return CompletableFuture.failedFuture(new NotDispatchedException("in-flight window full"));
             }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(ie);
         }
-        // 배치 업데이트
-        repository.saveAll(batch);
+        long sendStart = System.nanoTime();
+        return sender.send(e).copy()
+                .orTimeout(ackTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((v, ex) -> {
+                    inFlight.release();
+                    metrics.recordSend(e, System.nanoTime() - sendStart, ex == null);
+                });
     }
 
     /**
-     * Envelope JSON에서 공통 헤더 값을 추출합니다. 실패 시 안전한 기본값을 사용합니다.
+     * 브로커로 내보내지 못한 행인지 여부. 이 행은 실패로 세지 않고(retry_count 유지) 임대만 해제합니다.
      */
-    private Map<String, String> buildHeadersSafely(String envelopeJson) {
-        Map<String, String> headers = new HashMap<>();
-        headers.put("X-Event-Type", "unknown");
-        headers.put("X-Event-Version", "0");
-        headers.put("X-Trace-Id", "");
-        headers.put("X-Occurred-At", "");
-        headers.put("X-Producer-Service", "");
-        if (envelopeJson == null || envelopeJson.isBlank()) return headers;
+    static boolean isUndispatched(CompletableFuture<Void> ack) {
+        return ack.isCompletedExceptionally() && ack.exceptionNow() instanceof NotDispatchedException;
+    }
+
+    /**
+     * ack 결과에 따른 상태 전이(SENT / FAILED / DEAD)를 엔티티에 계산해 둡니다.
+     * - 드레인 스레드(process)와 직접 전송 반영 스레드(OutboxDirectSender)에서 호출되며, 엔티티는 호출자만 다룹니다.
+     * - DB 반영은 호출자가 결과 그룹별로 일괄 수행합니다(markSent / markFailed).
+     * @return 전송 성공 여부
+     */
+    boolean applyOutcome(OutboxEventEntity e, CompletableFuture<Void> ack) {
+        Throwable failure = failureOf(ack);
+        if (failure == null) {
+            // 성공 전이
+            Instant now = Instant.now();
+            e.setStatus(OutboxEventStatus.SENT);
+            e.setSentAt(now);
+            e.setUpdatedAt(now);
+            releaseLease(e);
+            metrics.recordSent(e, now);
+            return true;
+        }
+        // 실패 전이 및 재시도 카운트 증가
+        int attempts = e.getRetryCount() + 1;
+        e.setRetryCount(attempts);
+        boolean isDead = attempts >= properties.getRetry().getMaxAttempts();
+        e.setStatus(isDead ? OutboxEventStatus.DEAD : OutboxEventStatus.FAILED);
+        e.setLastErrorMessage(failure instanceof TimeoutException ? "broker ack timeout" : failure.getMessage());
+
+        long backoffSec = backoffPolicy.delaySeconds(attempts);
+        e.setNextAttemptAt(Instant.now().plusSeconds(backoffSec));
+        e.setUpdatedAt(Instant.now());
+        releaseLease(e);
+        metrics.recordFailure(e);
+
+        // 브로커 장애 시 배치 전체가 실패하므로 실패 로그도 예산 안에서만 남기고, 스택은 DEBUG로 내립니다.
+        long skipped = logSampler.tryAcquireSummary("outbox.failure");
+        if (skipped >= 0) {
+            log.warn("Outbox send failed id={} attempts={} status={} reason={} skipped={}",
+                    e.getId(), attempts, e.getStatus(), e.getLastErrorMessage(), skipped);
+        }
+        log.debug("Outbox send failure detail id={}", e.getId(), failure);
+
+        // DEAD 전이 시 DLQ 전송 옵션 처리
+        if (isDead && properties.getDeadLetter() != null && properties.getDeadLetter().isEnabled()) {
+            try {
+                Map<String, String> headers = sender.headersOf(e);
+                Map<String, String> dlqHeaders = buildDlqHeaders(headers, e.getLastErrorMessage());
+                sendToDlq(e, dlqHeaders);
+            } catch (Exception dlqEx) {
+                log.warn("DLQ forward failed id={} reason={}", e.getId(), dlqEx.getMessage(), dlqEx);
+            }
+        }
+        return false;
+    }
+
+    /** 완료된 ack의 실패 원인(성공이면 null). CompletionException 래핑은 벗겨냅니다. */
+    private Throwable failureOf(CompletableFuture<Void> ack) {
         try {
-            JsonNode root = objectMapper.readTree(envelopeJson);
-            JsonNode type = root.get("type");
-            JsonNode version = root.get("version");
-            JsonNode occurredAt = root.get("occurredAt");
-            JsonNode trace = root.get("trace");
-            JsonNode producer = root.get("producer");
-            if (type != null) headers.put("X-Event-Type", type.asText());
-            if (version != null) headers.put("X-Event-Version", version.asText());
-            if (occurredAt != null) headers.put("X-Occurred-At", occurredAt.asText());
-            if (trace != null && trace.get("traceId") != null) headers.put("X-Trace-Id", trace.get("traceId").asText());
-            if (producer != null && producer.get("service") != null) headers.put("X-Producer-Service", producer.get("service").asText());
-        } catch (Exception ignored) {
-            // 파싱 실패 시 기본값 유지
-        }
-        return headers;
+            ack.join();
+            return null;
+        } catch (CompletionException ce) {
+            return ce.getCause() != null ? ce.getCause() : ce;
+        } catch (Exception ex) {
+            return ex;
+        }
+    }
+
+    /** 전송 결과 반영 시 임대를 해제하여 재시도 시점에 어느 노드든 다시 선점할 수 있게 합니다. */
+    private void releaseLease(OutboxEventEntity e) {
+        e.setLeaseOwner(null);
+        e.setLeaseUntil(null);
+    }
+
+    /** 내보내기 마감/자리 부족으로 브로커에 전송하지 않은 행의 결과 */
+    static final class NotDispatchedException extends RuntimeException {
+        NotDispatchedException(String message) {
+            super(message, null, false, false);
+        }
     }
 
     /** DLQ 전용 헤더 구성: 원본 헤더 + DLQ 이유 */
     private Map<String, String> buildDlqHeaders(Map<String, String> base, String reason) {
         Map<String, String> m = new HashMap<>(base != null ? base : Map.of());
         if (reason != null) {
-            m.put("X-DLQ-Reason", reason);
+            m.put(EventHeaders.DLQ_REASON, reason);
         }
-        m.put("X-Dead-Letter", "true");
+        m.put(EventHeaders.DEAD_LETTER, "true");
         return m;
     }
 
-    /** DEAD → DLQ 전송 */
+    /** DEAD → DLQ 전송(ack는 기다리지 않고 결과만 로그로 남깁니다) */
     private void sendToDlq(OutboxEventEntity e, Map<String, String> headers) {
         OutboxProperties.DeadLetter dl = properties.getDeadLetter();
         if (e.getBrokerType() == BrokerType.KAFKA) {
             String dlqTopic = (e.getKafkaTopic() == null ? "" : e.getKafkaTopic()) + (dl.getKafkaSuffix() == null ? "" : dl.getKafkaSuffix());
-            producer.sendKafka(dlqTopic, e.getMessageKey(), e.getEnvelope(), headers);
-            log.info("[DLQ][KAFKA] forwarded id={} topic={} key={}", e.getId(), dlqTopic, e.getMessageKey());
+            producer.sendKafka(dlqTopic, e.getMessageKey(), e.getEnvelope(), headers).whenComplete((v, ex) -> {
+                if (ex != null) log.warn("[DLQ][KAFKA] forward failed id={} topic={} reason={}", e.getId(), dlqTopic, ex.getMessage());
+                else log.info("[DLQ][KAFKA] forwarded id={} topic={} key={}", e.getId(), dlqTopic, e.getMessageKey());
+            });
         } else {
             String exchange = e.getRabbitExchange();
             String routingKey = (e.getRabbitRoutingKey() == null ? "" : e.getRabbitRoutingKey()) + (dl.getRabbitSuffix() == null ? "" : dl.getRabbitSuffix());
-            producer.sendRabbit(exchange, routingKey, e.getEnvelope(), headers);
-            log.info("[DLQ][RABBIT] forwarded id={} exchange={} routingKey={}", e.getId(), exchange, routingKey);
+            producer.sendRabbit(exchange, routingKey, e.getEnvelope(), headers).whenComplete((v, ex) -> {
+                if (ex != null) log.warn("[DLQ][RABBIT] forward failed id={} exchange={} routingKey={} reason={}", e.getId(), exchange, routingKey, ex.getMessage());
+                else log.info("[DLQ][RABBIT] forwarded id={} exchange={} routingKey={}", e.getId(), exchange, routingKey);
+            });
         }
     }
-
-    /**
-     * 지수 백오프 + 지터
-     * baseSeconds * (2^(attempts-1)) 를 기반으로 하고, maxSeconds로 상한을 둡니다.
-     * jitterRate가 0.1 이면 ±10% 범위에서 랜덤 지터를 적용합니다.
-     */
-    private long calcBackoffSeconds(int attempts) {
-        int base = Math.max(1, properties.getRetry().getBackoff().getBaseSeconds());
-        int max = Math.max(base, properties.getRetry().getBackoff().getMaxSeconds());
-        double jitter = Math.max(0.0, properties.getRetry().getBackoff().getJitterRate());
-        // pow with cap to avoid overflow
-        long exp = 1L << Math.min(Math.max(attempts - 1, 0), 20); // 2^(attempts-1), capped
-        double raw = base * (double) exp;
-        double capped = Math.min(raw, max);
-        double delta = capped * jitter;
-        double min = Math.max(1.0, capped - delta);
-        double maxV = capped + delta;
-        long withJitter = (long) Math.round(ThreadLocalRandom.current().nextDouble(min, maxV));
-        return Math.max(1, withJitter);
-    }
 }
@@ -7,9 +7,17 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * outbox.* 구성 프로퍼티 바인딩
  * - enabled: Processor 활성/비활성
  * - batch.size: 한 번에 가져올 처리 건수
- * - schedule.delay-ms: 폴링 주기(ms)
+ * - schedule.delay-ms: 폴링 주기(ms), schedule.max-delay-ms / adaptive: 유휴 시 백오프 상한과 적응형 폴링 여부
  * - retry.max-attempts: 실패 시 최대 재시도 횟수
  * - retry.backoff.*: 백오프 파라미터(기본/최대/지터율)
+ * - worker.shards: 키 해시 기반 병렬 전송 워커 수(1이면 단일 스레드 순차 전송)
+ * - claim.*: 다중 인스턴스 행 선점 방식(SKIP LOCKED / lease)과 임대 시간
+ * - send.*: 비동기 전송 파이프라인(in-flight 상한, ack 타임아웃)
+ * - retention.*: SENT/DEAD 행 보존 기간과 청크 단위 삭제/아카이브
+ * - direct-send.*: 커밋 직후 직접 전송(폴링은 실패/미전송 행만 처리)
+ * - metrics.*: backlog 등 집계형 메트릭 갱신 주기
+ * - 배치는 최대 2 × send.ack-timeout-ms + 브로커 send 차단 상한(messaging.kafka.max-block-ms) 동안 임대를 쥐므로
+ *   claim.lease-seconds보다 짧아야 합니다(OutboxProcessor 기동 시 검증).
  */
 @Data
 @ConfigurationProperties(prefix = "outbox")
@@ -19,11 +27,39 @@ public class OutboxProperties {
     private Schedule schedule = new Schedule();
     private Retry retry = new Retry();
     private DeadLetter deadLetter = new DeadLetter();
+    private Worker worker = new Worker();
+    private Claim claim = new Claim();
+    private Send send = new Send();
+    private Retention retention = new Retention();
+    private DirectSend directSend = new DirectSend();
+    private MetricsSettings metrics = new MetricsSettings();
+
+    /**
+     * 임대 안에 배치가 끝나는지 검증합니다. 임대가 먼저 만료되면 다른 노드가 전송 중인 행을 다시 선점하고,
+     * 먼저 노드의 결과는 lease_owner 조건에 걸려 버려집니다.
+     * - 배치 소요 상한 = 내보내기 마감(ack-timeout) + 마감 직전에 시작한 send의 동기 차단(sendBlockMs) + ack 대기(ack-timeout)
+     * @param sendBlockMs 브로커 send 호출이 동기로 막힐 수 있는 상한(ms)
+     */
+    void validateLeaseBudget(long sendBlockMs) {
+        long leaseMs = claim.getLeaseSeconds() * 1000L;
+        long budgetMs = send.getAckTimeoutMs() * 2 + Math.max(0, sendBlockMs);
+        if (budgetMs >= leaseMs) {
+            throw new IllegalStateException("outbox.send.ack-timeout-ms * 2 + messaging.kafka.max-block-ms (" + budgetMs
+                    + ") must be less than outbox.claim.lease-seconds * 1000 (" + leaseMs + ")");
+        }
+    }
 
     @Data
     public static class Batch { private int size = 100; }
     @Data
-    public static class Schedule { private long delayMs = 1000; }
+    public static class Schedule {
+        /** 기본 폴링 간격(ms). 유휴 백오프의 시작값이기도 합니다. */
+        private long delayMs = 1000;
+        /** 유휴 시 백오프 상한(ms) */
+        private long maxDelayMs = 10000;
+        /** 적응형 폴링(적체 시 연속 처리, 유휴 시 백오프, 커밋 신호 즉시 처리) 사용 여부 */
+        private boolean adaptive = true;
+    }
     @Data
     public static class Retry {
         private int maxAttempts = 5;
@@ -47,4 +83,67 @@ public class OutboxProperties {
         /** Rabbit DLQ routing suffix (예: .dlq) */
         private String rabbitSuffix = ".dlq";
     }
+    @Data
+    public static class Worker {
+        /** 샤드(워커 스레드) 수. 같은 키는 항상 같은 샤드에서 순서대로 전송됩니다. */
+        private int shards = 1;
+    }
+    @Data
+    public static class Claim {
+        /** 선점 방식: AUTO(DB 지원 시 SKIP_LOCKED, 아니면 LEASE) | SKIP_LOCKED | LEASE */
+        private ClaimMode mode = ClaimMode.AUTO;
+        /** 임대 유지 시간(초). 전송 + 상태 반영이 이 시간 안에 끝나야 합니다(2 × send.ack-timeout-ms + messaging.kafka.max-block-ms보다 길게). */
+        private int leaseSeconds = 60;
+        /** 노드 식별자(미지정 시 호스트명 + 랜덤 suffix) */
+        private String ownerId;
+    }
+
+    @Data
+    public static class Send {
+        /** ack를 기다리지 않고 동시에 내보낼 수 있는 최대 전송 수 */
+        private int maxInFlight = 1000;
+        /**
+         * 브로커 ack 대기 상한(ms). 초과 시 실패로 보고 재시도 경로로 보냅니다.
+         * - 배치의 전송 내보내기 마감이기도 합니다. 마감을 넘겨 내보내지 못한 행은 실패로 세지 않고 임대만 해제합니다.
+         */
+        private long ackTimeoutMs = 20000;
+    }
+
+    @Data
+    public static class Retention {
+        /** 보존 정책 작업 활성화 여부 */
+        private boolean enabled = false;
+        /** 작업 실행 간격(ms) */
+        private long intervalMs = 60000;
+        /** SENT 행 보존 시간(sentAt 기준) */
+        private int sentTtlHours = 168;
+        /** SENT 행을 삭제 전에 아카이브 테이블로 복사할지 여부 */
+        private boolean archiveSent = false;
+        /** DEAD 행을 아카이브 테이블로 옮길지 여부(false면 DEAD 행은 건드리지 않습니다) */
+        private boolean archiveDead = false;
+        /** DEAD 행 보존 시간(updatedAt 기준) */
+        private int deadTtlHours = 720;
+        /** 한 트랜잭션에서 처리할 행 수. 작게 유지해야 드레인 루프와의 잠금 경합이 짧습니다. */
+        private int chunkSize = 500;
+        /** 한 번 실행에서 처리할 최대 청크 수(상태별) */
+        private int maxChunksPerRun = 20;
+    }
+
+    @Data
+    public static class DirectSend {
+        /** 발행 트랜잭션 커밋 직후 바로 전송할지 여부. 실패 행은 백오프 후, 미전송 행은 임대 만료 후 폴링이 이어받습니다. */
+        private boolean enabled = false;
+        /** 전송 내보내기(window 자리 대기 포함)와 ack 후 상태 반영을 수행할 스레드 수 */
+        private int completionThreads = 2;
+    }
+
+    @Data
+    public static class MetricsSettings {
+        /** outbox.backlog / outbox.oldest.pending.age 집계 쿼리 주기(ms) */
+        private long backlogRefreshMs = 15000;
+    }
+
+    public enum ClaimMode {
+        AUTO, SKIP_LOCKED, LEASE
+    }
 }
@@ -0,0 +1,97 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Outbox 보존 정책 작업
+ * - 보존 기간이 지난 SENT 행을 삭제(옵션: 아카이브 후 삭제)하고, 옵션에 따라 DEAD 행을 아카이브 테이블로 옮깁니다.
+ * - 청크(retention.chunk-size) 단위로 짧은 트랜잭션을 반복하여 드레인 루프와 긴 잠금 경합을 만들지 않습니다.
+ * - 한 번 실행에서 상태별 최대 retention.max-chunks-per-run 청크까지만 처리하고 나머지는 다음 실행으로 넘깁니다.
+ * - outbox.retention.enabled=true 일 때만 동작하며, 실행 간격은 outbox.retention.interval-ms로 조절합니다.
+ *   (@Scheduled 기반이므로 애플리케이션에 @EnableScheduling이 필요합니다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox.retention", name = "enabled", havingValue = "true")
+public class OutboxRetentionJob {
+
+    private static final String ARCHIVE_SQL =
+            "INSERT INTO event_outbox_archive (id, broker_type, kafka_topic, rabbit_exchange, rabbit_routing_key, message_key, envelope, headers, content_type, content_encoding, " +
+            "status, retry_count, last_error_message, created_at, updated_at, sent_at, archived_at) " +
+            "SELECT id, broker_type, kafka_topic, rabbit_exchange, rabbit_routing_key, message_key, envelope, headers, content_type, content_encoding, " +
+            "status, retry_count, last_error_message, created_at, updated_at, sent_at, :archivedAt " +
+            "FROM event_outbox WHERE id IN (:ids) AND status = :status";
+
+    private final OutboxEventRepository repository;
+    private final OutboxProperties properties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${outbox.retention.interval-ms:60000}")
+    public void run() {
+        OutboxProperties.Retention r = properties.getRetention();
+        Instant now = Instant.now();
+        try {
+            Instant sentCutoff = now.minus(r.getSentTtlHours(), ChronoUnit.HOURS);
+            int sent = purge(OutboxEventStatus.SENT, r.isArchiveSent(),
+                    page -> repository.findSentIdsBefore(sentCutoff, page));
+            int dead = 0;
+            if (r.isArchiveDead()) {
+                Instant deadCutoff = now.minus(r.getDeadTtlHours(), ChronoUnit.HOURS);
+                dead = purge(OutboxEventStatus.DEAD, true,
+                        page -> repository.findDeadIdsBefore(deadCutoff, page));
+            }
+            if (sent > 0 || dead > 0) {
+                log.info("[OutboxRetention] removed sent={} (archived={}) dead={} (archived) tookMs={}",
+                        sent, r.isArchiveSent(), dead, Duration.between(now, Instant.now()).toMillis());
+            }
+        } catch (Exception ex) {
+            log.warn("[OutboxRetention] run failed, will retry next interval. error={}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * 대상 id를 청크 단위로 조회하여 (옵션) 아카이브 후 삭제합니다. 청크마다 별도 트랜잭션입니다.
+     * @return 삭제된 총 행 수
+     */
+    private int purge(OutboxEventStatus status, boolean archive, Function<PageRequest, List<Long>> finder) {
+        OutboxProperties.Retention r = properties.getRetention();
+        int chunkSize = Math.max(1, r.getChunkSize());
+        int total = 0;
+        for (int chunk = 0; chunk < Math.max(1, r.getMaxChunksPerRun()); chunk++) {
+            // 삭제된 행은 다음 조회에서 빠지므로 항상 첫 페이지를 가져옵니다.
+            List<Long> ids = finder.apply(PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) break;
+            Integer deleted = transactionTemplate.execute(tx -> {
+                if (archive) {
+                    MapSqlParameterSource params = new MapSqlParameterSource()
+                            .addValue("ids", ids)
+                            .addValue("status", status.name())
+                            .addValue("archivedAt", Instant.now().atOffset(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE);
+                    jdbcTemplate.update(ARCHIVE_SQL, params);
+                }
+                return repository.deleteByIdsAndStatus(ids, status);
+            });
+            total += deleted == null ? 0 : deleted;
+            if (ids.size() < chunkSize) break;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox 상태 전이 일괄 반영
+ * - 엔티티 saveAll(행마다 더티 체킹 + 버전 UPDATE + envelope 재기록) 대신 결과 그룹별 일괄 UPDATE를 사용합니다.
+ * - SENT: 같은 값으로 전이되므로 id IN (...) 단일 UPDATE(청크 단위)
+ * - FAILED/DEAD: 행마다 retry_count/next_attempt_at/에러가 다르므로 JDBC 배치 UPDATE
+ * - 모든 UPDATE는 lease_owner = 현재 노드 조건으로 펜싱합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxStatusUpdater {
+
+    /** IN 절/배치 한 번에 담을 최대 건수(Oracle IN 1000 제한 등 고려) */
+    private static final int CHUNK_SIZE = 500;
+    /** last_error_message 컬럼 길이 */
+    private static final int ERROR_MESSAGE_MAX = 1024;
+
+    private static final String MARK_FAILED_SQL =
+            "UPDATE event_outbox SET status = ?, retry_count = ?, next_attempt_at = ?, last_error_message = ?, updated_at = ?, " +
+            "lease_owner = NULL, lease_until = NULL, version = version + 1 WHERE id = ? AND lease_owner = ?";
+
+    private final OutboxEventRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 전송 성공 행들을 SENT로 전이합니다.
+     * @return 실제 갱신된 행 수(임대를 잃은 행은 제외)
+     */
+    @Transactional
+    public int markSent(List<Long> ids, Instant sentAt, String owner) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+            updated += repository.markSent(chunk, sentAt, owner);
+        }
+        return updated;
+    }
+
+    /**
+     * 전송하지 못한 행의 임대만 해제합니다(상태/재시도 횟수는 그대로, 폴링 경로가 이어받음).
+     * @return 실제 갱신된 행 수
+     */
+    @Transactional
+    public int releaseLease(List<Long> ids, String owner) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+            updated += repository.releaseLease(chunk, owner);
+        }
+        return updated;
+    }
+
+    /**
+     * 전송 실패 행들의 재시도 필드(status, retryCount, nextAttemptAt, lastErrorMessage, updatedAt)를 JDBC 배치로 반영합니다.
+     * - 엔티티의 현재 값(Processor가 계산한 결과)을 그대로 기록합니다.
+     * @return 실제 갱신된 행 수(임대를 잃은 행은 제외)
+     */
+    @Transactional
+    public int markFailed(Collection<OutboxEventEntity> rows, String owner) {
+        if (rows.isEmpty()) return 0;
+        int[][] results = jdbcTemplate.batchUpdate(MARK_FAILED_SQL, rows, CHUNK_SIZE, (ps, e) -> {
+            ps.setString(1, e.getStatus().name());
+            ps.setInt(2, e.getRetryCount());
+            ps.setObject(3, toUtc(e.getNextAttemptAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setString(4, truncate(e.getLastErrorMessage()));
+            ps.setObject(5, toUtc(e.getUpdatedAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setLong(6, e.getId());
+            ps.setString(7, owner);
+        });
+        int updated = 0;
+        for (int[] chunk : results) {
+            for (int n : chunk) {
+                // 일부 드라이버는 배치 결과로 SUCCESS_NO_INFO(-2)를 돌려줍니다.
+                updated += n > 0 ? n : (n == Statement.SUCCESS_NO_INFO ? 1 : 0);
+            }
+        }
+        return updated;
+    }
+
+    private static OffsetDateTime toUtc(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= ERROR_MESSAGE_MAX) return message;
+        return message.substring(0, ERROR_MESSAGE_MAX);
+    }
+}
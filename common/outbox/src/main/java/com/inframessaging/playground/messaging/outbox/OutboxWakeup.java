@@ -0,0 +1,41 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Outbox 드레인 루프 깨우기 신호
+ * - DomainEventPublisherImpl이 Outbox 적재 트랜잭션 커밋 직후 signal()을 호출합니다.
+ * - OutboxDrainLoop는 폴링 대기 중 신호를 받으면 즉시 다음 배치를 처리합니다.
+ * - 처리 중에 도착한 신호도 보존되어 다음 대기에서 바로 반환됩니다(신호 유실 없음).
+ */
+@Component
+public class OutboxWakeup {
+
+    private final Object monitor = new Object();
+    private boolean signalled;
+
+    /** 대기 중인 드레인 루프를 깨웁니다. */
+    public void signal() {
+        synchronized (monitor) {
+            signalled = true;
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * 신호가 오거나 timeoutMs가 지날 때까지 기다립니다.
+     * @return 신호로 깨어났으면 true, 타임아웃이면 false
+     */
+    public boolean await(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000L;
+        synchronized (monitor) {
+            while (!signalled) {
+                long remainingMs = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remainingMs <= 0) return false;
+                monitor.wait(remainingMs);
+            }
+            signalled = false;
+            return true;
+        }
+    }
+}
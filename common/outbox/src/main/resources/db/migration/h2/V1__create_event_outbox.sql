@@ -0,0 +1,29 @@
+-- Outbox 테이블(event_outbox) 초기 스키마
+-- - 엔티티: com.inframessaging.playground.messaging.outbox.OutboxEventEntity
+-- - 시각 컬럼은 Instant(UTC) 매핑에 맞춰 TIMESTAMP WITH TIME ZONE을 사용합니다.
+CREATE TABLE event_outbox (
+    id                 BIGINT AUTO_INCREMENT PRIMARY KEY,
+    broker_type        VARCHAR(16)   NOT NULL,
+    kafka_topic        VARCHAR(255),
+    rabbit_exchange    VARCHAR(255),
+    rabbit_routing_key VARCHAR(255),
+    message_key        VARCHAR(255),
+    envelope           CLOB,
+    status             VARCHAR(16)   NOT NULL,
+    retry_count        INT           NOT NULL,
+    next_attempt_at    TIMESTAMP(6) WITH TIME ZONE,
+    last_error_message VARCHAR(1024),
+    created_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at            TIMESTAMP(6) WITH TIME ZONE,
+    lease_owner        VARCHAR(128),
+    lease_until        TIMESTAMP(6) WITH TIME ZONE,
+    version            INT
+);
+
+-- 폴링 쿼리(findProcessable) 접근 경로용 복합 인덱스
+-- - WHERE status IN ('PENDING','FAILED') AND (next_attempt_at IS NULL OR next_attempt_at <= ?) ORDER BY created_at
+-- - status가 선두 컬럼이므로 누적되는 SENT 행은 인덱스 범위에서 제외되어, 테이블이 커져도 조회 비용이 활성 행 수에만 비례합니다.
+-- - PostgreSQL에서는 부분 인덱스가 더 작고 효율적입니다:
+--   CREATE INDEX idx_event_outbox_processable ON event_outbox (created_at) WHERE status IN ('PENDING', 'FAILED');
+CREATE INDEX idx_event_outbox_processable ON event_outbox (status, next_attempt_at, created_at);
@@ -0,0 +1,22 @@
+-- Outbox 보존 정책(OutboxRetentionJob)용 아카이브 테이블과 인덱스
+-- - 보관 대상(SENT/DEAD) 행을 event_outbox에서 옮겨 핫 테이블을 작게 유지합니다.
+-- - 임대/버전 컬럼은 처리 중에만 의미가 있으므로 보관하지 않습니다.
+CREATE TABLE event_outbox_archive (
+    id                 BIGINT        PRIMARY KEY,
+    broker_type        VARCHAR(16)   NOT NULL,
+    kafka_topic        VARCHAR(255),
+    rabbit_exchange    VARCHAR(255),
+    rabbit_routing_key VARCHAR(255),
+    message_key        VARCHAR(255),
+    envelope           CLOB,
+    status             VARCHAR(16)   NOT NULL,
+    retry_count        INT           NOT NULL,
+    last_error_message VARCHAR(1024),
+    created_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at            TIMESTAMP(6) WITH TIME ZONE,
+    archived_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- 보존 대상 조회(status = 'SENT' AND sent_at < ?) 접근 경로
+CREATE INDEX idx_event_outbox_status_sent_at ON event_outbox (status, sent_at);
@@ -0,0 +1,12 @@
+-- Envelope 저장 형식을 CLOB(문자) → BLOB(UTF-8 바이트)로 변경
+-- - 직렬화된 바이트를 그대로 저장/전송하여 UTF-16 디코딩과 getBytes(UTF_8) 재인코딩을 없앱니다.
+-- - 기존 행은 STRINGTOUTF8(H2)로 변환합니다. 다른 DB는 해당 변환 함수로 바꿔 적용하세요(MySQL: CONVERT(envelope USING utf8mb4)).
+ALTER TABLE event_outbox ADD COLUMN envelope_bin BLOB;
+UPDATE event_outbox SET envelope_bin = STRINGTOUTF8(envelope) WHERE envelope IS NOT NULL;
+ALTER TABLE event_outbox DROP COLUMN envelope;
+ALTER TABLE event_outbox ALTER COLUMN envelope_bin RENAME TO envelope;
+
+ALTER TABLE event_outbox_archive ADD COLUMN envelope_bin BLOB;
+UPDATE event_outbox_archive SET envelope_bin = STRINGTOUTF8(envelope) WHERE envelope IS NOT NULL;
+ALTER TABLE event_outbox_archive DROP COLUMN envelope;
+ALTER TABLE event_outbox_archive ALTER COLUMN envelope_bin RENAME TO envelope;
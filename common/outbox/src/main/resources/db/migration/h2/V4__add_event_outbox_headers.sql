@@ -0,0 +1,5 @@
+-- 발행 시점에 계산한 브로커 헤더(OutboxHeaders 인코딩)를 저장하는 컬럼
+-- - 전송/DLQ 시 Envelope 본문을 다시 파싱하지 않고 이 값만 디코딩해 사용합니다.
+-- - 기존 행은 NULL로 남으며, 이 경우 전송 시 본문에서 헤더를 추출합니다.
+ALTER TABLE event_outbox ADD COLUMN headers VARCHAR(1024);
+ALTER TABLE event_outbox_archive ADD COLUMN headers VARCHAR(1024);
@@ -0,0 +1,5 @@
+-- event_outbox ID 시퀀스(Hibernate pooled optimizer, OutboxEventEntity의 allocationSize = 50과 일치)
+-- - IDENTITY 대신 시퀀스를 사용해야 INSERT가 JDBC 배치로 묶입니다.
+-- - id 컬럼의 AUTO_INCREMENT는 JDBC 직접 INSERT(벤치마크 등)를 위해 그대로 둡니다.
+-- - 기존 데이터가 있는 DB에서는 START WITH를 MAX(id) + 1 이상으로 조정해 적용하세요.
+CREATE SEQUENCE event_outbox_seq START WITH 1 INCREMENT BY 50;
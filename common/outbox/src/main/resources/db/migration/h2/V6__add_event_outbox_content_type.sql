@@ -0,0 +1,5 @@
+-- Envelope 본문 인코딩(EnvelopeCodec content type, 예: application/json, application/x-jackson-smile)
+-- - 전송 시 X-Content-Type 헤더로 내보내 컨슈머가 디코더를 고릅니다.
+-- - 기존 행은 NULL로 남으며 JSON으로 취급합니다.
+ALTER TABLE event_outbox ADD COLUMN content_type VARCHAR(64);
+ALTER TABLE event_outbox_archive ADD COLUMN content_type VARCHAR(64);
@@ -0,0 +1,5 @@
+-- Envelope 본문 압축 방식(예: gzip). 임계값(messaging.codec.compression-threshold-bytes)을 넘은 본문만 압축합니다.
+-- - 전송 시 X-Content-Encoding 헤더로 내보냅니다.
+-- - NULL이면 압축하지 않은 본문입니다(기존 행 포함).
+ALTER TABLE event_outbox ADD COLUMN content_encoding VARCHAR(16);
+ALTER TABLE event_outbox_archive ADD COLUMN content_encoding VARCHAR(16);
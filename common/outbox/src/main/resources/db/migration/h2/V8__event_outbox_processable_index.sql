@@ -0,0 +1,9 @@
+-- 폴링 인덱스를 실제 조회 조건에 맞게 교체
+-- - 조회: WHERE status IN ('PENDING','FAILED') AND (next_attempt_at IS NULL OR next_attempt_at <= ?)
+--         AND (lease_until IS NULL OR lease_until < ?) ORDER BY created_at
+--   (findProcessable / findProcessableSkipLocked / LEASE 모드의 findProcessableIds)
+-- - status로 범위를 좁힌 뒤 created_at 순으로 읽고, next_attempt_at / lease_until 조건은 인덱스 항목에서 바로 거릅니다.
+--   이전 인덱스(status, next_attempt_at, created_at)는 lease_until을 포함하지 않아 행마다 테이블을 읽어야 했습니다.
+-- - id만 조회하는 findProcessableIds는 이 인덱스만으로 끝납니다(보조 인덱스에 PK 포함).
+DROP INDEX IF EXISTS idx_event_outbox_processable;
+CREATE INDEX idx_event_outbox_processable ON event_outbox (status, created_at, next_attempt_at, lease_until);
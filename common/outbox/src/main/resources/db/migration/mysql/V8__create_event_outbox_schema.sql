@@ -0,0 +1,62 @@
+-- Outbox 스키마(MySQL 8+) 기준선
+-- - h2/V1~V8을 모두 적용한 결과와 같은 스키마입니다. 버전을 V8로 맞춰 이후 마이그레이션은 모든 벤더에서 V9부터 이어갑니다.
+-- - 엔티티: com.inframessaging.playground.messaging.outbox.OutboxEventEntity
+-- - 시각 컬럼은 Instant(UTC)를 저장하는 DATETIME(6)입니다(Hibernate가 UTC로 정규화).
+-- - envelope는 직렬화된 Envelope 바이트(JSON/Smile, gzip 가능)를 그대로 저장합니다.
+CREATE TABLE event_outbox (
+    id                 BIGINT        NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    broker_type        VARCHAR(16)   NOT NULL,
+    kafka_topic        VARCHAR(255),
+    rabbit_exchange    VARCHAR(255),
+    rabbit_routing_key VARCHAR(255),
+    message_key        VARCHAR(255),
+    envelope           LONGBLOB,
+    headers            VARCHAR(1024),
+    content_type       VARCHAR(64),
+    content_encoding   VARCHAR(16),
+    status             VARCHAR(16)   NOT NULL,
+    retry_count        INT           NOT NULL,
+    next_attempt_at    DATETIME(6),
+    last_error_message VARCHAR(1024),
+    created_at         DATETIME(6)   NOT NULL,
+    updated_at         DATETIME(6)   NOT NULL,
+    sent_at            DATETIME(6),
+    lease_owner        VARCHAR(128),
+    lease_until        DATETIME(6),
+    version            INT
+) ENGINE = InnoDB;
+
+-- 폴링 쿼리(findProcessable / findProcessableSkipLocked / findProcessableIds) 접근 경로
+-- - status로 범위를 좁힌 뒤 created_at 순으로 읽고, next_attempt_at / lease_until 조건은 인덱스 항목에서 거릅니다.
+CREATE INDEX idx_event_outbox_processable ON event_outbox (status, created_at, next_attempt_at, lease_until);
+
+-- 보존 대상 조회(status = 'SENT' AND sent_at < ?) 접근 경로
+CREATE INDEX idx_event_outbox_status_sent_at ON event_outbox (status, sent_at);
+
+-- 보존 정책(OutboxRetentionJob)용 아카이브 테이블. 임대/버전 컬럼은 보관하지 않습니다.
+CREATE TABLE event_outbox_archive (
+    id                 BIGINT        NOT NULL PRIMARY KEY,
+    broker_type        VARCHAR(16)   NOT NULL,
+    kafka_topic        VARCHAR(255),
+    rabbit_exchange    VARCHAR(255),
+    rabbit_routing_key VARCHAR(255),
+    message_key        VARCHAR(255),
+    envelope           LONGBLOB,
+    headers            VARCHAR(1024),
+    content_type       VARCHAR(64),
+    content_encoding   VARCHAR(16),
+    status             VARCHAR(16)   NOT NULL,
+    retry_count        INT           NOT NULL,
+    last_error_message VARCHAR(1024),
+    created_at         DATETIME(6)   NOT NULL,
+    updated_at         DATETIME(6)   NOT NULL,
+    sent_at            DATETIME(6),
+    archived_at        DATETIME(6)   NOT NULL
+) ENGINE = InnoDB;
+
+-- event_outbox ID 생성기(OutboxEventEntity의 allocationSize = 50)
+-- - MySQL에는 시퀀스가 없어 Hibernate가 같은 이름의 테이블(next_val 컬럼)로 시퀀스를 흉내 냅니다.
+CREATE TABLE event_outbox_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO event_outbox_seq VALUES (1);
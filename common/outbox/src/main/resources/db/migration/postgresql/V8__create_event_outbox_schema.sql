@@ -0,0 +1,60 @@
+-- Outbox 스키마(PostgreSQL 9.5+) 기준선
+-- - h2/V1~V8을 모두 적용한 결과와 같은 스키마입니다. 버전을 V8로 맞춰 이후 마이그레이션은 모든 벤더에서 V9부터 이어갑니다.
+-- - 엔티티: com.inframessaging.playground.messaging.outbox.OutboxEventEntity
+-- - 시각 컬럼은 Instant(UTC) 매핑에 맞춰 TIMESTAMP WITH TIME ZONE을 사용합니다.
+-- - envelope는 직렬화된 Envelope 바이트(JSON/Smile, gzip 가능)를 그대로 저장하는 BYTEA입니다.
+-- - id는 JDBC 직접 INSERT(벤치마크 등)를 위해 IDENTITY로 두고, 엔티티는 event_outbox_seq를 사용합니다.
+CREATE TABLE event_outbox (
+    id                 BIGINT        GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    broker_type        VARCHAR(16)   NOT NULL,
+    kafka_topic        VARCHAR(255),
+    rabbit_exchange    VARCHAR(255),
+    rabbit_routing_key VARCHAR(255),
+    message_key        VARCHAR(255),
+    envelope           BYTEA,
+    headers            VARCHAR(1024),
+    content_type       VARCHAR(64),
+    content_encoding   VARCHAR(16),
+    status             VARCHAR(16)   NOT NULL,
+    retry_count        INT           NOT NULL,
+    next_attempt_at    TIMESTAMP(6) WITH TIME ZONE,
+    last_error_message VARCHAR(1024),
+    created_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at            TIMESTAMP(6) WITH TIME ZONE,
+    lease_owner        VARCHAR(128),
+    lease_until        TIMESTAMP(6) WITH TIME ZONE,
+    version            INT
+);
+
+-- 폴링 쿼리(findProcessable / findProcessableSkipLocked / findProcessableIds) 접근 경로
+-- - 부분 인덱스라 누적되는 SENT/DEAD 행은 인덱스에 들어가지 않고, 활성 행만 created_at 순으로 읽습니다.
+CREATE INDEX idx_event_outbox_processable ON event_outbox (created_at, next_attempt_at, lease_until)
+    WHERE status IN ('PENDING', 'FAILED');
+
+-- 보존 대상 조회(status = 'SENT' AND sent_at < ?) 접근 경로
+CREATE INDEX idx_event_outbox_status_sent_at ON event_outbox (status, sent_at);
+
+-- 보존 정책(OutboxRetentionJob)용 아카이브 테이블. 임대/버전 컬럼은 보관하지 않습니다.
+CREATE TABLE event_outbox_archive (
+    id                 BIGINT        PRIMARY KEY,
+    broker_type        VARCHAR(16)   NOT NULL,
+    kafka_topic        VARCHAR(255),
+    rabbit_exchange    VARCHAR(255),
+    rabbit_routing_key VARCHAR(255),
+    message_key        VARCHAR(255),
+    envelope           BYTEA,
+    headers            VARCHAR(1024),
+    content_type       VARCHAR(64),
+    content_encoding   VARCHAR(16),
+    status             VARCHAR(16)   NOT NULL,
+    retry_count        INT           NOT NULL,
+    last_error_message VARCHAR(1024),
+    created_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at            TIMESTAMP(6) WITH TIME ZONE,
+    archived_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- event_outbox ID 시퀀스(Hibernate pooled optimizer, OutboxEventEntity의 allocationSize = 50과 일치)
+CREATE SEQUENCE event_outbox_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,147 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.CustomEvent;
+import com.inframessaging.playground.messaging.api.RoutingOptions;
+import com.inframessaging.playground.messaging.config.MessagingProperties;
+import deser.EnvelopeCodecs;
+import deser.JsonEnvelopeCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DomainEventPublisherImplTest {
+
+    record UserRegistered(String userId) implements CustomEvent {
+        @Override
+        public BrokerType brokerType() {
+            return BrokerType.KAFKA;
+        }
+
+        @Override
+        public String topic() {
+            return "user.registered.v1";
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+    }
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final OutboxWakeup wakeup = mock(OutboxWakeup.class);
+    private final OutboxDirectSender directSender = mock(OutboxDirectSender.class);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publishAllSavesOneBatchAndSignalsOnce() {
+        DomainEventPublisherImpl publisher = publisher(null);
+
+        publisher.publishAll(events(3), RoutingOptions.builder().kafkaKey("user-1").build());
+
+        List<OutboxEventEntity> saved = savedBatch();
+        assertThat(saved).hasSize(3).allSatisfy(e -> {
+            assertThat(e.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+            assertThat(e.getKafkaTopic()).isEqualTo("user.registered.v1");
+            assertThat(e.getMessageKey()).isEqualTo("user-1");
+            assertThat(e.getContentType()).isEqualTo(JsonEnvelopeCodec.CONTENT_TYPE);
+            assertThat(OutboxHeaders.decode(e.getHeaders())).isNotEmpty();
+        });
+        verify(repository, never()).save(any());
+        verify(wakeup, times(1)).signal();
+    }
+
+    @Test
+    void publishAllSignalsOnlyAfterCommit() {
+        DomainEventPublisherImpl publisher = publisher(null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publishAll(events(2), RoutingOptions.builder().build());
+
+        verify(wakeup, never()).signal();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(wakeup, times(1)).signal();
+    }
+
+    @Test
+    void publishAllWithNoEventsStoresNothing() {
+        DomainEventPublisherImpl publisher = publisher(null);
+
+        publisher.publishAll(List.of(), RoutingOptions.builder().build());
+
+        verify(repository, never()).saveAll(anyList());
+        verify(wakeup, never()).signal();
+    }
+
+    @Test
+    void singlePublishUsesSave() {
+        DomainEventPublisherImpl publisher = publisher(null);
+
+        publisher.publish(new UserRegistered("user-1"));
+
+        verify(repository).save(any(OutboxEventEntity.class));
+        verify(repository, never()).saveAll(anyList());
+        verify(wakeup).signal();
+    }
+
+    @Test
+    void directSendPreLeasesRowsAndSendsBatchOnce() {
+        DomainEventPublisherImpl publisher = publisher(directSender);
+
+        publisher.publishAll(events(3), RoutingOptions.builder().build());
+
+        List<OutboxEventEntity> saved = savedBatch();
+        saved.forEach(e -> verify(directSender).preLease(e));
+        verify(directSender, times(1)).sendCommitted(saved);
+        verify(wakeup, never()).signal();
+    }
+
+    private DomainEventPublisherImpl publisher(OutboxDirectSender direct) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<OutboxDirectSender> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(direct);
+        DomainEventPublisherImpl publisher = new DomainEventPublisherImpl(repository,
+                EnvelopeCodecs.jsonOnly(new JsonEnvelopeCodec(objectMapper)), new MessagingProperties(), wakeup,
+                new MockEnvironment(), provider);
+        publisher.init();
+        return publisher;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEventEntity> savedBatch() {
+        ArgumentCaptor<List<OutboxEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static List<UserRegistered> events(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new UserRegistered("user-" + i)).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventIdGeneratorTest {
+
+    private static final long T = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+
+    @Test
+    void idsAreCrockfordBase32OfFixedLength() {
+        String id = EventIdGenerator.nextId();
+
+        assertThat(id).hasSize(26).matches("[0-7][0-9A-HJKMNP-TV-Z]{25}");
+    }
+
+    @Test
+    void encodesBoundaryValues() {
+        assertThat(EventIdGenerator.encode(0, 0)).isEqualTo("0".repeat(26));
+        assertThat(EventIdGenerator.encode(0, 1)).isEqualTo("0".repeat(25) + "1");
+        assertThat(EventIdGenerator.encode(-1, -1)).isEqualTo("7" + "Z".repeat(25));
+    }
+
+    @Test
+    void encodingPreservesOrderOfHighBits() {
+        // 하위 비트가 어떻든 상위 64비트가 큰 쪽이 문자열로도 뒤에 옵니다.
+        assertThat(EventIdGenerator.encode(T << 16, -1))
+                .isLessThan(EventIdGenerator.encode((T << 16) + 1, 0));
+        assertThat(EventIdGenerator.encode(T << 16 | 0xFFFF, -1))
+                .isLessThan(EventIdGenerator.encode((T + 1) << 16, 0));
+    }
+
+    @Test
+    void startsSequenceAtZeroWhenClockAdvances() {
+        AtomicLong last = new AtomicLong((T << 16) + 7);
+
+        assertThat(EventIdGenerator.nextHigh(last, T + 1)).isEqualTo((T + 1) << 16);
+    }
+
+    @Test
+    void incrementsSequenceWithinSameMillisecond() {
+        AtomicLong last = new AtomicLong();
+
+        assertThat(EventIdGenerator.nextHigh(last, T)).isEqualTo(T << 16);
+        assertThat(EventIdGenerator.nextHigh(last, T)).isEqualTo((T << 16) + 1);
+        assertThat(EventIdGenerator.nextHigh(last, T)).isEqualTo((T << 16) + 2);
+    }
+
+    @Test
+    void sequenceOverflowCarriesIntoNextMillisecond() {
+        AtomicLong last = new AtomicLong();
+        long prev = -1;
+        for (int i = 0; i <= 0xFFFF; i++) {
+            long hi = EventIdGenerator.nextHigh(last, T);
+            assertThat(hi >>> 16).isEqualTo(T);
+            assertThat(hi).isGreaterThan(prev);
+            prev = hi;
+        }
+
+        // 같은 밀리초에 65536개를 넘기면 시각 부분이 다음 밀리초로 넘어갑니다.
+        long carried = EventIdGenerator.nextHigh(last, T);
+        assertThat(carried).isEqualTo((T + 1) << 16).isGreaterThan(prev);
+
+        // 실제 시계가 그 밀리초에 도달해도 이미 발급한 값 뒤에서 이어집니다.
+        assertThat(EventIdGenerator.nextHigh(last, T + 1)).isEqualTo(((T + 1) << 16) + 1);
+    }
+
+    @Test
+    void staysMonotonicWhenClockMovesBackwards() {
+        AtomicLong last = new AtomicLong();
+        long before = EventIdGenerator.nextHigh(last, T + 1_000);
+
+        long afterRollback = EventIdGenerator.nextHigh(last, T);
+        long next = EventIdGenerator.nextHigh(last, T + 500);
+
+        assertThat(afterRollback).isEqualTo(before + 1);
+        assertThat(next).isEqualTo(before + 2);
+    }
+
+    @Test
+    void idsAreUniqueAndMonotonicAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<List<String>> task = () -> {
+                    start.await();
+                    List<String> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(EventIdGenerator.nextId());
+                    }
+                    return ids;
+                };
+                futures.add(pool.submit(task));
+            }
+            start.countDown();
+
+            Set<String> all = new HashSet<>(threads * perThread);
+            for (Future<List<String>> f : futures) {
+                List<String> ids = f.get();
+                // 스레드 안에서는 발급 순서대로 정렬됩니다.
+                assertThat(ids).isSorted().doesNotHaveDuplicates();
+                all.addAll(ids);
+            }
+            assertThat(all).hasSize(threads * perThread);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.EventHeaders;
+import com.inframessaging.playground.messaging.producer.EventProducer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 전송을 기록하고, 테스트가 정한 방식(responder)으로 ack future를 돌려주는 EventProducer
+ * - 기본은 즉시 성공(ack)입니다.
+ */
+class FakeEventProducer implements EventProducer {
+
+    /** 전송 1건 기록(outboxId는 X-Outbox-Id 헤더, 없으면 -1) */
+    record Sent(String destination, String key, long outboxId, String thread) {
+    }
+
+    private final List<Sent> sent = new ArrayList<>();
+    private volatile Function<Sent, CompletableFuture<Void>> responder = s -> CompletableFuture.completedFuture(null);
+
+    void respondWith(Function<Sent, CompletableFuture<Void>> responder) {
+        this.responder = responder;
+    }
+
+    synchronized List<Sent> sent() {
+        return List.copyOf(sent);
+    }
+
+    @Override
+    public BrokerType brokerType() {
+        return BrokerType.KAFKA;
+    }
+
+    @Override
+    public CompletableFuture<Void> sendKafka(String topic, String key, byte[] body, Map<String, String> headers) {
+        return record(topic, key, headers);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendRabbit(String exchange, String routingKey, byte[] body, Map<String, String> headers) {
+        return record(exchange, routingKey, headers);
+    }
+
+    private CompletableFuture<Void> record(String destination, String key, Map<String, String> headers) {
+        String outboxId = headers != null ? headers.get(EventHeaders.OUTBOX_ID) : null;
+        Sent s = new Sent(destination, key, outboxId != null ? Long.parseLong(outboxId) : -1, Thread.currentThread().getName());
+        synchronized (this) {
+            sent.add(s);
+        }
+        return responder.apply(s);
+    }
+}
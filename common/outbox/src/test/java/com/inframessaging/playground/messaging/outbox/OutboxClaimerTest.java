@@ -0,0 +1,155 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.inframessaging.playground.messaging.api.BrokerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(OutboxStatusUpdater.class)
+class OutboxClaimerTest {
+
+    @Autowired
+    private OutboxEventRepository repository;
+    @Autowired
+    private OutboxStatusUpdater statusUpdater;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void detectsLeaseModeOnH2() {
+        OutboxProperties properties = new OutboxProperties();
+        OutboxClaimer claimer = new OutboxClaimer(repository, properties, dataSource);
+
+        claimer.init();
+
+        assertThat(claimer.getMode()).isEqualTo(OutboxProperties.ClaimMode.LEASE);
+        assertThat(claimer.getOwnerId()).isNotBlank();
+    }
+
+    @Test
+    void ownersClaimDisjointRowsInCreationOrder() {
+        List<Long> ids = insertPending(5);
+        OutboxClaimer a = claimer("node-a");
+        OutboxClaimer b = claimer("node-b");
+
+        List<OutboxEventEntity> claimedByA = a.claim(3);
+        List<OutboxEventEntity> claimedByB = b.claim(10);
+
+        assertThat(ids(claimedByA)).containsExactlyElementsOf(ids.subList(0, 3));
+        assertThat(ids(claimedByB)).containsExactlyElementsOf(ids.subList(3, 5));
+        assertThat(claimedByA).allSatisfy(e -> assertThat(e.getLeaseOwner()).isEqualTo("node-a"));
+        assertThat(claimedByB).allSatisfy(e -> assertThat(e.getLeaseOwner()).isEqualTo("node-b"));
+        assertThat(a.claim(10)).isEmpty();
+        assertThat(b.claim(10)).isEmpty();
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndStaleOwnerIsFenced() {
+        insertPending(2);
+        OutboxClaimer a = claimer("node-a");
+        OutboxClaimer b = claimer("node-b");
+        List<OutboxEventEntity> claimedByA = a.claim(10);
+        expireLeases("node-a");
+
+        List<OutboxEventEntity> takenOver = b.claim(10);
+
+        assertThat(ids(takenOver)).isEqualTo(ids(claimedByA));
+        assertThat(statusUpdater.markSent(ids(claimedByA), Instant.now(), "node-a")).isZero();
+        assertThat(statusUpdater.releaseLease(ids(claimedByA), "node-a")).isZero();
+        claimedByA.forEach(e -> {
+            e.setStatus(OutboxEventStatus.FAILED);
+            e.setRetryCount(1);
+            e.setUpdatedAt(Instant.now());
+        });
+        assertThat(statusUpdater.markFailed(claimedByA, "node-a")).isZero();
+
+        assertThat(statusUpdater.markSent(ids(takenOver), Instant.now(), "node-b")).isEqualTo(2);
+        entityManager.clear();
+        assertThat(repository.findAllById(ids(takenOver))).hasSize(2).allSatisfy(e -> {
+            assertThat(e.getStatus()).isEqualTo(OutboxEventStatus.SENT);
+            assertThat(e.getRetryCount()).isZero();
+            assertThat(e.getLeaseOwner()).isNull();
+        });
+    }
+
+    @Test
+    void releasedLeaseIsClaimableImmediately() {
+        insertPending(3);
+        OutboxClaimer a = claimer("node-a");
+        OutboxClaimer b = claimer("node-b");
+        List<OutboxEventEntity> claimedByA = a.claim(10);
+
+        assertThat(statusUpdater.releaseLease(ids(claimedByA), "node-a")).isEqualTo(3);
+        entityManager.clear();
+
+        assertThat(ids(b.claim(10))).isEqualTo(ids(claimedByA));
+    }
+
+    @Test
+    void skipsRowsScheduledForLaterRetry() {
+        List<Long> ids = insertPending(2);
+        entityManager.getEntityManager()
+                .createQuery("update OutboxEventEntity e set e.status = :status, e.nextAttemptAt = :later where e.id = :id")
+                .setParameter("status", OutboxEventStatus.FAILED)
+                .setParameter("later", Instant.now().plusSeconds(300))
+                .setParameter("id", ids.get(0))
+                .executeUpdate();
+        entityManager.clear();
+
+        assertThat(ids(claimer("node-a").claim(10))).containsExactly(ids.get(1));
+    }
+
+    private OutboxClaimer claimer(String owner) {
+        OutboxProperties properties = new OutboxProperties();
+        properties.getClaim().setOwnerId(owner);
+        properties.getClaim().setMode(OutboxProperties.ClaimMode.LEASE);
+        OutboxClaimer claimer = new OutboxClaimer(repository, properties, dataSource);
+        claimer.init();
+        return claimer;
+    }
+
+    private List<Long> insertPending(int count) {
+        Instant base = Instant.now().minusSeconds(60);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OutboxEventEntity e = OutboxEventEntity.builder()
+                    .brokerType(BrokerType.KAFKA)
+                    .kafkaTopic("user.registered.v1")
+                    .messageKey("key-" + i)
+                    .envelope("{}".getBytes(StandardCharsets.UTF_8))
+                    .status(OutboxEventStatus.PENDING)
+                    .createdAt(base.plusMillis(i))
+                    .updatedAt(base)
+                    .build();
+            ids.add(repository.saveAndFlush(e).getId());
+        }
+        entityManager.clear();
+        return ids;
+    }
+
+    private void expireLeases(String owner) {
+        entityManager.getEntityManager()
+                .createQuery("update OutboxEventEntity e set e.leaseUntil = :past where e.leaseOwner = :owner")
+                .setParameter("past", Instant.now().minusSeconds(1))
+                .setParameter("owner", owner)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    private static List<Long> ids(List<OutboxEventEntity> rows) {
+        return rows.stream().map(OutboxEventEntity::getId).toList();
+    }
+}
@@ -0,0 +1,143 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.config.MessagingProperties;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
+import deser.EnvelopeCodecs;
+import deser.JsonEnvelopeCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDirectSenderTest {
+
+    private static final String OWNER = "node-1";
+
+    private final OutboxProperties properties = new OutboxProperties();
+    private final FakeEventProducer producer = new FakeEventProducer();
+    private final OutboxClaimer claimer = mock(OutboxClaimer.class);
+    private final OutboxStatusUpdater statusUpdater = mock(OutboxStatusUpdater.class);
+    private final OutboxWakeup wakeup = new OutboxWakeup();
+    private OutboxProcessor processor;
+    private OutboxDirectSender directSender;
+
+    @BeforeEach
+    void setUp() {
+        when(claimer.getOwnerId()).thenReturn(OWNER);
+        when(statusUpdater.markSent(anyList(), any(), eq(OWNER))).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+        when(statusUpdater.markFailed(anyCollection(), eq(OWNER))).thenAnswer(inv -> ((Collection<?>) inv.getArgument(0)).size());
+        when(statusUpdater.releaseLease(anyList(), eq(OWNER))).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (directSender != null) directSender.shutdown();
+        if (processor != null) processor.shutdownWorkers();
+    }
+
+    @Test
+    void preLeaseClaimsOnlyPendingRows() {
+        OutboxDirectSender sender = directSender();
+        OutboxEventEntity pending = OutboxProcessorTest.kafkaRow(1, "a");
+        pending.setLeaseOwner(null);
+        OutboxEventEntity failed = OutboxProcessorTest.kafkaRow(2, "b");
+        failed.setLeaseOwner(null);
+        failed.setStatus(OutboxEventStatus.FAILED);
+
+        sender.preLease(pending);
+        sender.preLease(failed);
+
+        assertThat(pending.getLeaseOwner()).isEqualTo(OWNER);
+        assertThat(pending.getLeaseUntil()).isAfter(Instant.now());
+        assertThat(failed.getLeaseOwner()).isNull();
+    }
+
+    @Test
+    void committedRowsAreSentOffCallerThreadAndMarkedSent() {
+        OutboxDirectSender sender = directSender();
+
+        sender.sendCommitted(List.of(OutboxProcessorTest.kafkaRow(1, "a"), OutboxProcessorTest.kafkaRow(2, "b")));
+
+        verify(statusUpdater, timeout(2000)).markSent(eq(List.of(1L, 2L)), any(), eq(OWNER));
+        assertThat(producer.sent()).allSatisfy(s -> assertThat(s.thread()).startsWith("outbox-direct-"));
+        verify(statusUpdater, never()).markFailed(anyCollection(), any());
+    }
+
+    @Test
+    void brokerFailureIsMarkedFailedForPolling() {
+        OutboxDirectSender sender = directSender();
+        producer.respondWith(s -> s.outboxId() == 2
+                ? CompletableFuture.failedFuture(new IllegalStateException("broker down"))
+                : CompletableFuture.completedFuture(null));
+        OutboxEventEntity failing = OutboxProcessorTest.kafkaRow(2, "b");
+
+        sender.sendCommitted(List.of(OutboxProcessorTest.kafkaRow(1, "a"), failing));
+
+        verify(statusUpdater, timeout(2000)).markFailed(List.of(failing), OWNER);
+        verify(statusUpdater).markSent(eq(List.of(1L)), any(), eq(OWNER));
+        assertThat(failing.getStatus()).isEqualTo(OutboxEventStatus.FAILED);
+        assertThat(failing.getRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rowsPastDispatchDeadlineAreReleasedNotFailed() {
+        properties.getSend().setAckTimeoutMs(100);
+        OutboxDirectSender sender = directSender();
+        producer.respondWith(s -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        sender.sendCommitted(List.of(OutboxProcessorTest.kafkaRow(1, "a"), OutboxProcessorTest.kafkaRow(2, "b")));
+
+        verify(statusUpdater, timeout(2000)).releaseLease(List.of(2L), OWNER);
+        verify(statusUpdater).markSent(eq(List.of(1L)), any(), eq(OWNER));
+        verify(statusUpdater, never()).markFailed(anyCollection(), any());
+    }
+
+    @Test
+    void rowsNotEligibleForDirectSendWakePolling() throws InterruptedException {
+        OutboxDirectSender sender = directSender();
+        OutboxEventEntity failed = OutboxProcessorTest.kafkaRow(1, "a");
+        failed.setStatus(OutboxEventStatus.FAILED);
+
+        sender.sendCommitted(List.of(failed));
+
+        assertThat(wakeup.await(1000)).isTrue();
+        verify(statusUpdater, after(200).never()).markSent(anyList(), any(), any());
+        assertThat(producer.sent()).isEmpty();
+    }
+
+    private OutboxDirectSender directSender() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        MessagingProperties messagingProperties = new MessagingProperties();
+        OutboxEventSender sender = new OutboxEventSender(producer, objectMapper, EnvelopeCodecs.jsonOnly(new JsonEnvelopeCodec(objectMapper)));
+        processor = new OutboxProcessor(statusUpdater, claimer, properties, sender, producer,
+                new MessagingLogSampler(messagingProperties), mock(OutboxMetrics.class), messagingProperties);
+        processor.initWorkers();
+        directSender = new OutboxDirectSender(processor, statusUpdater, claimer, properties, wakeup);
+        directSender.init();
+        return directSender;
+    }
+}
@@ -0,0 +1,76 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDrainLoopTest {
+
+    private final OutboxProcessor processor = mock(OutboxProcessor.class);
+    private final OutboxWakeup wakeup = new OutboxWakeup();
+    private final OutboxProperties properties = new OutboxProperties();
+    private final OutboxDrainLoop loop = new OutboxDrainLoop(processor, wakeup, properties);
+
+    @AfterEach
+    void tearDown() {
+        loop.stop();
+    }
+
+    @Test
+    void signalTriggersNextCycleWithoutWaitingForPoll() {
+        properties.getSchedule().setDelayMs(60_000);
+        properties.getSchedule().setMaxDelayMs(60_000);
+        when(processor.process()).thenReturn(0);
+
+        loop.start();
+        verify(processor, timeout(1000).times(1)).process();
+        verify(processor, after(200).times(1)).process();
+
+        wakeup.signal();
+
+        verify(processor, timeout(1000).times(2)).process();
+    }
+
+    @Test
+    void fullBatchIsFollowedImmediatelyByNextBatch() {
+        properties.getSchedule().setDelayMs(60_000);
+        properties.getSchedule().setMaxDelayMs(60_000);
+        properties.getBatch().setSize(10);
+        when(processor.process()).thenReturn(10, 10, 3);
+
+        loop.start();
+
+        verify(processor, timeout(1000).times(3)).process();
+        verify(processor, after(200).times(3)).process();
+    }
+
+    @Test
+    void nonAdaptivePollingIgnoresBacklog() {
+        properties.getSchedule().setAdaptive(false);
+        properties.getSchedule().setDelayMs(60_000);
+        properties.getBatch().setSize(10);
+        when(processor.process()).thenReturn(10);
+
+        loop.start();
+
+        verify(processor, timeout(1000).times(1)).process();
+        verify(processor, after(200).times(1)).process();
+    }
+
+    @Test
+    void stopEndsLoopAndReportsNotRunning() {
+        when(processor.process()).thenReturn(0);
+        loop.start();
+        verify(processor, timeout(1000).atLeastOnce()).process();
+
+        loop.stop();
+
+        assertThat(loop.isRunning()).isFalse();
+    }
+}
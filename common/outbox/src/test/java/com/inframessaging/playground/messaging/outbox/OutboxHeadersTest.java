@@ -0,0 +1,120 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.api.EventHeaders;
+import com.inframessaging.playground.messaging.api.ProducerInfo;
+import com.inframessaging.playground.messaging.api.TraceInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxHeadersTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "plain",
+            "a=b=c",
+            "line1\nline2",
+            "\n",
+            "ends with newline\n",
+            "back\\slash",
+            "\\",
+            "\\n",
+            "trailing backslash\\",
+            "\\\n\\\\n",
+            "사용자-가입 이벤트",
+            "emoji 🚀 ü é"
+    })
+    void roundTripsSpecialValues(String value) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(EventHeaders.EVENT_TYPE, value);
+        headers.put(EventHeaders.TRACE_ID, value);
+
+        String encoded = OutboxHeaders.encode(headers);
+
+        assertThat(encoded).isNotNull();
+        assertThat(OutboxHeaders.decode(encoded)).isEqualTo(headers);
+    }
+
+    @Test
+    void encodedValueNeverContainsRawNewline() {
+        String encoded = OutboxHeaders.encode(Map.of(EventHeaders.TRACE_ID, "a\nb\\c"));
+
+        assertThat(encoded).isEqualTo(EventHeaders.TRACE_ID + "=a\\nb\\\\c");
+    }
+
+    @Test
+    void roundTripsHeadersBuiltFromEnvelope() {
+        Envelope<Object> envelope = Envelope.builder()
+                .id("01J0000000000000000000000")
+                .type("UserRegisteredEvent")
+                .version(2)
+                .occurredAt(Instant.parse("2025-01-01T00:00:00.123456Z"))
+                .producer(ProducerInfo.builder().service("service=A\n").build())
+                .trace(TraceInfo.builder().traceId("트레이스\\id").build())
+                .build();
+
+        Map<String, String> headers = OutboxHeaders.of(envelope);
+        Map<String, String> decoded = OutboxHeaders.decode(OutboxHeaders.encode(headers));
+
+        assertThat(decoded).isEqualTo(headers);
+        assertThat(decoded).containsEntry(EventHeaders.EVENT_VERSION, "2")
+                .containsEntry(EventHeaders.OCCURRED_AT, "2025-01-01T00:00:00.123456Z")
+                .containsEntry(EventHeaders.PRODUCER_SERVICE, "service=A\n")
+                .containsEntry(EventHeaders.TRACE_ID, "트레이스\\id");
+    }
+
+    @Test
+    void missingEnvelopeMetaBecomesEmptyValues() {
+        Map<String, String> headers = OutboxHeaders.of(new Envelope<>());
+
+        assertThat(headers).containsEntry(EventHeaders.EVENT_ID, "")
+                .containsEntry(EventHeaders.EVENT_TYPE, "unknown")
+                .containsEntry(EventHeaders.EVENT_VERSION, "0")
+                .containsEntry(EventHeaders.TRACE_ID, "")
+                .containsEntry(EventHeaders.OCCURRED_AT, "")
+                .containsEntry(EventHeaders.PRODUCER_SERVICE, "");
+        assertThat(OutboxHeaders.decode(OutboxHeaders.encode(headers))).isEqualTo(headers);
+    }
+
+    @Test
+    void encodesUpToMaxLength() {
+        String key = EventHeaders.TRACE_ID;
+        String value = "x".repeat(OutboxHeaders.MAX_LENGTH - key.length() - 1);
+
+        String encoded = OutboxHeaders.encode(Map.of(key, value));
+
+        assertThat(encoded).hasSize(OutboxHeaders.MAX_LENGTH);
+        assertThat(OutboxHeaders.decode(encoded)).containsExactlyEntriesOf(Map.of(key, value));
+    }
+
+    @Test
+    void returnsNullWhenLongerThanMaxLength() {
+        String key = EventHeaders.TRACE_ID;
+        String value = "x".repeat(OutboxHeaders.MAX_LENGTH - key.length());
+
+        assertThat(OutboxHeaders.encode(Map.of(key, value))).isNull();
+    }
+
+    @Test
+    void escapedLengthCountsTowardMaxLength() {
+        // 원문은 한도 안이지만 '\' 이스케이프로 두 배가 되어 한도를 넘습니다.
+        String key = EventHeaders.TRACE_ID;
+        String value = "\\".repeat((OutboxHeaders.MAX_LENGTH - key.length()) / 2 + 1);
+
+        assertThat(key.length() + 1 + value.length()).isLessThanOrEqualTo(OutboxHeaders.MAX_LENGTH);
+        assertThat(OutboxHeaders.encode(Map.of(key, value))).isNull();
+    }
+
+    @Test
+    void decodesEmptyColumnToEmptyMap() {
+        assertThat(OutboxHeaders.decode("")).isEmpty();
+    }
+}
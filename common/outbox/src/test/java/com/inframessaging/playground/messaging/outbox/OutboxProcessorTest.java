@@ -0,0 +1,251 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inframessaging.playground.messaging.api.BrokerType;
+import com.inframessaging.playground.messaging.api.EventHeaders;
+import com.inframessaging.playground.messaging.config.MessagingProperties;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
+import deser.EnvelopeCodecs;
+import deser.JsonEnvelopeCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxProcessorTest {
+
+    private static final String OWNER = "node-1";
+
+    private final OutboxProperties properties = new OutboxProperties();
+    private final FakeEventProducer producer = new FakeEventProducer();
+    private final OutboxClaimer claimer = mock(OutboxClaimer.class);
+    private final OutboxStatusUpdater statusUpdater = mock(OutboxStatusUpdater.class);
+    private OutboxProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        when(claimer.getOwnerId()).thenReturn(OWNER);
+        when(statusUpdater.markSent(anyList(), any(), eq(OWNER))).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+        when(statusUpdater.markFailed(anyCollection(), eq(OWNER))).thenAnswer(inv -> ((Collection<?>) inv.getArgument(0)).size());
+        when(statusUpdater.releaseLease(anyList(), eq(OWNER))).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (processor != null) processor.shutdownWorkers();
+    }
+
+    @Test
+    void sameKeyRowsAreSentInBatchOrderAcrossShards() {
+        OutboxProcessor processor = processor(4);
+        List<OutboxEventEntity> batch = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) batch.add(kafkaRow(id, "key-" + (id % 8)));
+        when(claimer.claim(anyInt())).thenReturn(batch);
+
+        int processed = processor.process();
+
+        assertThat(processed).isEqualTo(200);
+        Map<String, List<Long>> idsByKey = new LinkedHashMap<>();
+        for (FakeEventProducer.Sent s : producer.sent()) {
+            idsByKey.computeIfAbsent(s.key(), k -> new ArrayList<>()).add(s.outboxId());
+        }
+        assertThat(idsByKey).hasSize(8);
+        idsByKey.values().forEach(ids -> assertThat(ids).hasSize(25).isSorted());
+        verify(statusUpdater).markSent(argThat(ids -> ids.size() == 200), any(), eq(OWNER));
+    }
+
+    @Test
+    void sameKeyRowsShareOneShardThread() {
+        OutboxProcessor processor = processor(4);
+        List<OutboxEventEntity> batch = new ArrayList<>();
+        for (long id = 1; id <= 64; id++) batch.add(kafkaRow(id, "key-" + (id % 3)));
+        when(claimer.claim(anyInt())).thenReturn(batch);
+
+        processor.process();
+
+        Map<String, String> threadByKey = new LinkedHashMap<>();
+        for (FakeEventProducer.Sent s : producer.sent()) {
+            assertThat(s.thread()).startsWith("outbox-worker-");
+            String first = threadByKey.putIfAbsent(s.key(), s.thread());
+            if (first != null) assertThat(s.thread()).isEqualTo(first);
+        }
+        assertThat(threadByKey).hasSize(3);
+    }
+
+    @Test
+    void interruptedShardedDispatchReleasesLeasesAndReturnsZero() {
+        OutboxProcessor processor = processor(2);
+        CountDownLatch gate = new CountDownLatch(1);
+        producer.respondWith(s -> {
+            awaitQuietly(gate);
+            return CompletableFuture.completedFuture(null);
+        });
+        when(claimer.claim(anyInt())).thenReturn(List.of(kafkaRow(1, "a"), kafkaRow(2, "b")));
+
+        int processed;
+        boolean interrupted;
+        Thread.currentThread().interrupt();
+        try {
+            processed = processor.process();
+        } finally {
+            interrupted = Thread.interrupted();
+            gate.countDown();
+        }
+
+        assertThat(processed).isZero();
+        assertThat(interrupted).isTrue();
+        verify(statusUpdater).releaseLease(List.of(1L, 2L), OWNER);
+        verify(statusUpdater, never()).markSent(anyList(), any(), any());
+        verify(statusUpdater, never()).markFailed(anyCollection(), any());
+    }
+
+    @Test
+    void ackedRowsAreSentAndTimedOutRowsFail() {
+        properties.getSend().setAckTimeoutMs(100);
+        OutboxProcessor processor = processor(1);
+        OutboxEventEntity acked = kafkaRow(1, "a");
+        OutboxEventEntity silent = kafkaRow(2, "b");
+        producer.respondWith(s -> s.outboxId() == 2 ? new CompletableFuture<>() : CompletableFuture.completedFuture(null));
+        when(claimer.claim(anyInt())).thenReturn(List.of(acked, silent));
+
+        processor.process();
+
+        assertThat(acked.getStatus()).isEqualTo(OutboxEventStatus.SENT);
+        assertThat(silent.getStatus()).isEqualTo(OutboxEventStatus.FAILED);
+        assertThat(silent.getRetryCount()).isEqualTo(1);
+        assertThat(silent.getLastErrorMessage()).isEqualTo("broker ack timeout");
+        assertThat(silent.getNextAttemptAt()).isAfter(Instant.now());
+        verify(statusUpdater).markSent(eq(List.of(1L)), any(), eq(OWNER));
+        verify(statusUpdater).markFailed(List.of(silent), OWNER);
+    }
+
+    @Test
+    void brokerFailureOnLastAttemptMarksDead() {
+        OutboxProcessor processor = processor(1);
+        OutboxEventEntity row = kafkaRow(1, "a");
+        row.setRetryCount(properties.getRetry().getMaxAttempts() - 1);
+        producer.respondWith(s -> CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(claimer.claim(anyInt())).thenReturn(List.of(row));
+
+        processor.process();
+
+        assertThat(row.getStatus()).isEqualTo(OutboxEventStatus.DEAD);
+        assertThat(row.getLastErrorMessage()).isEqualTo("broker down");
+        verify(statusUpdater).markFailed(List.of(row), OWNER);
+        verify(statusUpdater, never()).markSent(anyList(), any(), any());
+    }
+
+    @Test
+    void fullWindowLeavesRowUndispatched() {
+        properties.getSend().setMaxInFlight(1);
+        properties.getSend().setAckTimeoutMs(10_000);
+        OutboxProcessor processor = processor(1);
+        producer.respondWith(s -> new CompletableFuture<>());
+
+        CompletableFuture<Void> holder = processor.dispatch(kafkaRow(1, "a"), System.nanoTime() + 10_000_000_000L);
+        CompletableFuture<Void> blocked = processor.dispatch(kafkaRow(2, "b"), System.nanoTime() + 50_000_000L);
+
+        assertThat(holder).isNotDone();
+        assertThat(OutboxProcessor.isUndispatched(blocked)).isTrue();
+        assertThat(producer.sent()).extracting(FakeEventProducer.Sent::outboxId).containsExactly(1L);
+    }
+
+    @Test
+    void blockingSendPastDeadlineReleasesRemainingRows() {
+        properties.getSend().setAckTimeoutMs(100);
+        OutboxProcessor processor = processor(1);
+        producer.respondWith(s -> {
+            sleepQuietly(200);
+            return CompletableFuture.completedFuture(null);
+        });
+        OutboxEventEntity first = kafkaRow(1, "a");
+        OutboxEventEntity second = kafkaRow(2, "b");
+        OutboxEventEntity third = kafkaRow(3, "c");
+        when(claimer.claim(anyInt())).thenReturn(List.of(first, second, third));
+
+        int processed = processor.process();
+
+        assertThat(processed).isEqualTo(3);
+        assertThat(producer.sent()).extracting(FakeEventProducer.Sent::outboxId).containsExactly(1L);
+        assertThat(first.getStatus()).isEqualTo(OutboxEventStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+        assertThat(second.getRetryCount()).isZero();
+        verify(statusUpdater).markSent(eq(List.of(1L)), any(), eq(OWNER));
+        verify(statusUpdater).releaseLease(List.of(2L, 3L), OWNER);
+        verify(statusUpdater, never()).markFailed(anyCollection(), any());
+    }
+
+    @Test
+    void rejectsAckTimeoutAndSendBlockBeyondLease() {
+        properties.getSend().setAckTimeoutMs(30_000);
+
+        assertThatThrownBy(() -> processor(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("lease-seconds");
+    }
+
+    private OutboxProcessor processor(int shards) {
+        properties.getWorker().setShards(shards);
+        ObjectMapper objectMapper = new ObjectMapper();
+        MessagingProperties messagingProperties = new MessagingProperties();
+        OutboxEventSender sender = new OutboxEventSender(producer, objectMapper, EnvelopeCodecs.jsonOnly(new JsonEnvelopeCodec(objectMapper)));
+        processor = new OutboxProcessor(statusUpdater, claimer, properties, sender, producer,
+                new MessagingLogSampler(messagingProperties), mock(OutboxMetrics.class), messagingProperties);
+        processor.initWorkers();
+        return processor;
+    }
+
+    static OutboxEventEntity kafkaRow(long id, String key) {
+        Instant now = Instant.now();
+        return OutboxEventEntity.builder()
+                .id(id)
+                .brokerType(BrokerType.KAFKA)
+                .kafkaTopic("user.registered.v1")
+                .messageKey(key)
+                .envelope("{}".getBytes(StandardCharsets.UTF_8))
+                .headers(OutboxHeaders.encode(Map.of(EventHeaders.EVENT_TYPE, "UserRegistered", EventHeaders.EVENT_VERSION, "1")))
+                .status(OutboxEventStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .leaseOwner(OWNER)
+                .build();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.inframessaging.playground.messaging.api.BrokerType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class OutboxRetentionJobTest {
+
+    @Autowired
+    private OutboxEventRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final OutboxProperties properties = new OutboxProperties();
+    private OutboxRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        // 아카이브 테이블은 엔티티가 없어 Hibernate DDL로 생성되지 않으므로 마이그레이션과 같은 구조로 만듭니다.
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS event_outbox_archive (" +
+                "id BIGINT PRIMARY KEY, broker_type VARCHAR(16) NOT NULL, kafka_topic VARCHAR(255), rabbit_exchange VARCHAR(255), " +
+                "rabbit_routing_key VARCHAR(255), message_key VARCHAR(255), envelope BLOB, headers VARCHAR(1024), " +
+                "content_type VARCHAR(64), content_encoding VARCHAR(16), status VARCHAR(16) NOT NULL, retry_count INT NOT NULL, " +
+                "last_error_message VARCHAR(1024), created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, " +
+                "updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, sent_at TIMESTAMP(6) WITH TIME ZONE, " +
+                "archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL)");
+        jdbcTemplate.update("DELETE FROM event_outbox_archive");
+        properties.getRetention().setEnabled(true);
+        job = new OutboxRetentionJob(repository, properties, namedJdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void purgesExpiredSentRowsInChunksUpToRunLimit() {
+        properties.getRetention().setChunkSize(10);
+        properties.getRetention().setMaxChunksPerRun(2);
+        insert(OutboxEventStatus.SENT, 25, 200);
+        insert(OutboxEventStatus.SENT, 3, 1);
+        insert(OutboxEventStatus.PENDING, 2, 200);
+
+        job.run();
+        assertThat(count(OutboxEventStatus.SENT)).isEqualTo(8);
+
+        job.run();
+        assertThat(count(OutboxEventStatus.SENT)).isEqualTo(3);
+        assertThat(count(OutboxEventStatus.PENDING)).isEqualTo(2);
+        assertThat(archived()).isZero();
+    }
+
+    @Test
+    void archivesSentRowsBeforeDeletingWhenEnabled() {
+        properties.getRetention().setArchiveSent(true);
+        insert(OutboxEventStatus.SENT, 4, 200);
+
+        job.run();
+
+        assertThat(count(OutboxEventStatus.SENT)).isZero();
+        assertThat(archived()).isEqualTo(4);
+    }
+
+    @Test
+    void movesExpiredDeadRowsOnlyWhenArchiveDeadIsEnabled() {
+        insert(OutboxEventStatus.DEAD, 3, 1000);
+
+        job.run();
+        assertThat(count(OutboxEventStatus.DEAD)).isEqualTo(3);
+
+        properties.getRetention().setArchiveDead(true);
+        job.run();
+        assertThat(count(OutboxEventStatus.DEAD)).isZero();
+        assertThat(archived()).isEqualTo(3);
+    }
+
+    private void insert(OutboxEventStatus status, int count, long ageHours) {
+        Instant at = Instant.now().minus(ageHours, ChronoUnit.HOURS);
+        for (int i = 0; i < count; i++) {
+            repository.save(OutboxEventEntity.builder()
+                    .brokerType(BrokerType.KAFKA)
+                    .kafkaTopic("user.registered.v1")
+                    .messageKey("key-" + i)
+                    .envelope("{}".getBytes(StandardCharsets.UTF_8))
+                    .status(status)
+                    .createdAt(at)
+                    .updatedAt(at)
+                    .sentAt(status == OutboxEventStatus.SENT ? at : null)
+                    .build());
+        }
+        repository.flush();
+    }
+
+    private int count(OutboxEventStatus status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox WHERE status = ?", Integer.class, status.name());
+    }
+
+    private int archived() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox_archive", Integer.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import com.inframessaging.playground.messaging.api.BrokerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DataJpaTest
+@Import(OutboxStatusUpdater.class)
+class OutboxStatusUpdaterTest {
+
+    private static final String OWNER = "node-a";
+
+    @Autowired
+    private OutboxEventRepository repository;
+    @Autowired
+    private OutboxStatusUpdater statusUpdater;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void markSentCountsRowsAcrossChunks() {
+        List<OutboxEventEntity> rows = insertLeased(1201, OWNER);
+        Instant sentAt = Instant.now();
+
+        int updated = statusUpdater.markSent(ids(rows), sentAt, OWNER);
+
+        assertThat(updated).isEqualTo(1201);
+        entityManager.clear();
+        assertThat(repository.findAll()).hasSize(1201).allSatisfy(e -> {
+            assertThat(e.getStatus()).isEqualTo(OutboxEventStatus.SENT);
+            assertThat(e.getSentAt()).isCloseTo(sentAt, within(1, ChronoUnit.MILLIS));
+            assertThat(e.getLeaseOwner()).isNull();
+            assertThat(e.getLeaseUntil()).isNull();
+        });
+    }
+
+    @Test
+    void markSentSkipsRowsLeasedByAnotherOwner() {
+        List<OutboxEventEntity> mine = insertLeased(3, OWNER);
+        List<OutboxEventEntity> theirs = insertLeased(2, "node-b");
+        List<Long> all = new ArrayList<>(ids(mine));
+        all.addAll(ids(theirs));
+
+        assertThat(statusUpdater.markSent(all, Instant.now(), OWNER)).isEqualTo(3);
+        entityManager.clear();
+        assertThat(repository.findAllById(ids(theirs))).allSatisfy(e -> {
+            assertThat(e.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+            assertThat(e.getLeaseOwner()).isEqualTo("node-b");
+        });
+    }
+
+    @Test
+    void markFailedWritesEachRowsRetryFields() {
+        List<OutboxEventEntity> rows = insertLeased(600, OWNER);
+        Instant next = Instant.now().plusSeconds(30);
+        for (int i = 0; i < rows.size(); i++) {
+            OutboxEventEntity e = rows.get(i);
+            e.setStatus(i % 2 == 0 ? OutboxEventStatus.FAILED : OutboxEventStatus.DEAD);
+            e.setRetryCount(i % 5 + 1);
+            e.setNextAttemptAt(next.plusSeconds(i));
+            e.setLastErrorMessage("error-" + i);
+            e.setUpdatedAt(Instant.now());
+        }
+
+        int updated = statusUpdater.markFailed(rows, OWNER);
+
+        assertThat(updated).isEqualTo(600);
+        entityManager.clear();
+        for (int i = 0; i < rows.size(); i += 149) {
+            OutboxEventEntity stored = repository.findById(rows.get(i).getId()).orElseThrow();
+            assertThat(stored.getStatus()).isEqualTo(rows.get(i).getStatus());
+            assertThat(stored.getRetryCount()).isEqualTo(i % 5 + 1);
+            assertThat(stored.getNextAttemptAt()).isCloseTo(next.plusSeconds(i), within(1, ChronoUnit.MILLIS));
+            assertThat(stored.getLastErrorMessage()).isEqualTo("error-" + i);
+            assertThat(stored.getLeaseOwner()).isNull();
+            assertThat(stored.getVersion()).isEqualTo(rows.get(i).getVersion() + 1);
+        }
+    }
+
+    @Test
+    void markFailedTruncatesLongErrorAndFencesOtherOwners() {
+        OutboxEventEntity mine = insertLeased(1, OWNER).get(0);
+        OutboxEventEntity theirs = insertLeased(1, "node-b").get(0);
+        for (OutboxEventEntity e : List.of(mine, theirs)) {
+            e.setStatus(OutboxEventStatus.FAILED);
+            e.setRetryCount(1);
+            e.setLastErrorMessage("x".repeat(2000));
+            e.setUpdatedAt(Instant.now());
+        }
+
+        assertThat(statusUpdater.markFailed(List.of(mine, theirs), OWNER)).isEqualTo(1);
+        entityManager.clear();
+        assertThat(repository.findById(mine.getId()).orElseThrow().getLastErrorMessage()).hasSize(1024);
+        OutboxEventEntity untouched = repository.findById(theirs.getId()).orElseThrow();
+        assertThat(untouched.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+        assertThat(untouched.getRetryCount()).isZero();
+    }
+
+    @Test
+    void emptyInputsUpdateNothing() {
+        assertThat(statusUpdater.markSent(List.of(), Instant.now(), OWNER)).isZero();
+        assertThat(statusUpdater.releaseLease(List.of(), OWNER)).isZero();
+        assertThat(statusUpdater.markFailed(List.of(), OWNER)).isZero();
+    }
+
+    private List<OutboxEventEntity> insertLeased(int count, String owner) {
+        Instant now = Instant.now();
+        List<OutboxEventEntity> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OutboxEventEntity e = OutboxEventEntity.builder()
+                    .brokerType(BrokerType.KAFKA)
+                    .kafkaTopic("user.registered.v1")
+                    .messageKey("key-" + i)
+                    .envelope("{}".getBytes(StandardCharsets.UTF_8))
+                    .status(OutboxEventStatus.PENDING)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .leaseOwner(owner)
+                    .leaseUntil(now.plusSeconds(60))
+                    .build();
+            rows.add(repository.save(e));
+        }
+        repository.flush();
+        entityManager.clear();
+        return rows;
+    }
+
+    private static List<Long> ids(List<OutboxEventEntity> rows) {
+        return rows.stream().map(OutboxEventEntity::getId).toList();
+    }
+}
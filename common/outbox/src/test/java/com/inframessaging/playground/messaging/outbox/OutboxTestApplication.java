@@ -0,0 +1,13 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+
+/**
+ * outbox 모듈 슬라이스 테스트(@DataJpaTest)가 찾는 부트 설정
+ * - 이 패키지를 엔티티/리포지토리 스캔 기준으로 삼고, 그 밖의 빈은 각 테스트가 @Import 합니다.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+class OutboxTestApplication {
+}
@@ -0,0 +1,46 @@
+package com.inframessaging.playground.messaging.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxWakeupTest {
+
+    private final OutboxWakeup wakeup = new OutboxWakeup();
+
+    @Test
+    void timesOutWithoutSignal() throws InterruptedException {
+        long start = System.nanoTime();
+
+        assertThat(wakeup.await(50)).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(45);
+    }
+
+    @Test
+    void signalBeforeAwaitIsNotLostAndIsConsumedOnce() throws InterruptedException {
+        wakeup.signal();
+        wakeup.signal();
+
+        assertThat(wakeup.await(10_000)).isTrue();
+        assertThat(wakeup.await(10)).isFalse();
+    }
+
+    @Test
+    void signalWakesWaitingThread() throws Exception {
+        CompletableFuture<Boolean> woke = CompletableFuture.supplyAsync(() -> {
+            try {
+                return wakeup.await(10_000);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+
+        wakeup.signal();
+
+        assertThat(woke.get(2, TimeUnit.SECONDS)).isTrue();
+    }
+}
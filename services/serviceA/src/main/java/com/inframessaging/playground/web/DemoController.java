@@ -62,16 +62,16 @@ public class DemoController {
      */
     @PostMapping("/publish-multi")
     public ResponseEntity<?> publishMulti(@RequestBody DemoRequest req) {
-        // 여러 Kafka 토픽으로 발행 (각 토픽마다 kafkaKey 전달)
+        // 여러 Kafka 토픽으로 발행 (같은 kafkaKey → publishAll로 한 번에 배치 적재)
         List<String> kafkaTopics = req.getKafkaTopics();
-        if (kafkaTopics != null) {
-            for (String kt : kafkaTopics) {
-                DemoEvent ev = new DemoEvent(BrokerType.KAFKA, kt, req.getVersion(), req.getUserId(), req.getPayload());
-                publisher.publish(ev, RoutingOptions.builder().kafkaKey(req.getUserId()).build());
-            }
+        if (kafkaTopics != null && !kafkaTopics.isEmpty()) {
+            List<DemoEvent> events = kafkaTopics.stream()
+                    .map(kt -> new DemoEvent(BrokerType.KAFKA, kt, req.getVersion(), req.getUserId(), req.getPayload()))
+                    .toList();
+            publisher.publishAll(events, RoutingOptions.builder().kafkaKey(req.getUserId()).build());
         }
 
-        // 여러 Rabbit 라우팅키로 발행(같은 exchange)
+        // 여러 Rabbit 라우팅키로 발행(같은 exchange, 라우팅키가 이벤트마다 달라 단건 발행)
         List<String> rabbitRoutingKeys = req.getRabbitRoutingKeys();
         if (rabbitRoutingKeys != null) {
             for (String rk : rabbitRoutingKeys) {
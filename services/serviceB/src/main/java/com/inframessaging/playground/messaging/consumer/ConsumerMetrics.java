@@ -0,0 +1,197 @@
+package com.inframessaging.playground.messaging.consumer;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consumer 메트릭
+ * - 수신/실패 건수: 브로커 + 소스(topic/queue)별, 이벤트 타입(type:version)별 LongAdder. 리스너 스레드 간 경합이 적습니다.
+ *   실패는 역직렬화 실패(consumer.failed)와 @EventHandler 예외(consumer.handler.failed)를 나눠 셉니다.
+ *   헤더 기준으로 처리 대상이 아니라서 본문을 읽지 않고 건너뛴 메시지는 consumer.skipped로 셉니다.
+ * - consumer.e2e.latency{broker,source}: Envelope.occurredAt → 수신 시각 지연(히스토그램, p50/p99/p999)
+ *   (프로듀서와 컨슈머 호스트의 시계 차이가 그대로 포함됩니다. 음수는 0으로 기록)
+ * - consumer.deserialize.duration{broker}: 본문 → Envelope 역직렬화 시간
+ * - 모든 값은 Micrometer(actuator)로 내보내며, ConsumerStateController가 snapshot()으로 요약을 노출합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsumerMetrics {
+
+    public static final String KAFKA = "kafka";
+    public static final String RABBIT = "rabbit";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+
+    private MeterRegistry registry;
+    /** broker|source → 카운터/타이머 묶음 */
+    private final ConcurrentMap<String, SourceMeters> sources = new ConcurrentHashMap<>();
+    /** type:version → 수신 건수 */
+    private final ConcurrentMap<String, LongAdder> eventTypes = new ConcurrentHashMap<>();
+    /** broker → 역직렬화 타이머 */
+    private final ConcurrentMap<String, Timer> deserializeTimers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        registry = registryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * 정상 수신 1건을 기록합니다.
+     * @param deserializeNanos 역직렬화에 걸린 시간
+     */
+    public void recordReceived(String broker, String source, Envelope<?> env, long deserializeNanos) {
+        SourceMeters m = source(broker, source);
+        m.received.increment();
+        deserializeTimer(broker).record(deserializeNanos, TimeUnit.NANOSECONDS);
+        if (env.getOccurredAt() != null) {
+            long lagMillis = Duration.between(env.getOccurredAt(), Instant.now()).toMillis();
+            m.e2eLatency.record(Math.max(0, lagMillis), TimeUnit.MILLISECONDS);
+        }
+        eventType(env.getType() + ":" + env.getVersion()).increment();
+    }
+
+    /** 역직렬화 실패 1건을 기록합니다. */
+    public void recordFailed(String broker, String source, long deserializeNanos) {
+        source(broker, source).failed.increment();
+        deserializeTimer(broker).record(deserializeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** 역직렬화는 성공했으나 @EventHandler가 예외를 던진 1건을 기록합니다(수신 건수에는 이미 포함). */
+    public void recordHandlerFailed(String broker, String source) {
+        source(broker, source).handlerFailed.increment();
+    }
+
+    /** 헤더의 (type, version)이 등록되지 않아 역직렬화 없이 건너뛴 1건을 기록합니다. */
+    public void recordSkipped(String broker, String source) {
+        source(broker, source).skipped.increment();
+    }
+
+    /** 브로커 전체 수신 건수 */
+    public long totalReceived(String broker) {
+        long sum = 0;
+        for (SourceMeters m : sources.values()) {
+            if (m.broker.equals(broker)) sum += m.received.sum();
+        }
+        return sum;
+    }
+
+    /** 상태 조회 API용 요약(소스별 건수/지연 분위수, 타입별 건수, 역직렬화 시간) */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> bySource = new TreeMap<>();
+        sources.forEach((key, m) -> {
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("received", m.received.sum());
+            s.put("failed", m.failed.sum());
+            s.put("handlerFailed", m.handlerFailed.sum());
+            s.put("skipped", m.skipped.sum());
+            s.put("e2eLatencyMs", summarize(m.e2eLatency.takeSnapshot()));
+            bySource.put(key, s);
+        });
+        Map<String, Object> byType = new TreeMap<>();
+        eventTypes.forEach((type, count) -> byType.put(type, count.sum()));
+        Map<String, Object> deser = new TreeMap<>();
+        deserializeTimers.forEach((broker, t) -> deser.put(broker, summarize(t.takeSnapshot())));
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("kafkaReceived", totalReceived(KAFKA));
+        out.put("rabbitReceived", totalReceived(RABBIT));
+        out.put("sources", bySource);
+        out.put("eventTypes", byType);
+        out.put("deserializeMs", deser);
+        return out;
+    }
+
+    private SourceMeters source(String broker, String source) {
+        String key = broker + "|" + (source == null ? "unknown" : source);
+        return sources.computeIfAbsent(key, k -> new SourceMeters(broker, source == null ? "unknown" : source));
+    }
+
+    private LongAdder eventType(String type) {
+        return eventTypes.computeIfAbsent(type, t -> {
+            LongAdder adder = new LongAdder();
+            FunctionCounter.builder("consumer.events", adder, LongAdder::sum)
+                    .description("Envelopes received per event type")
+                    .tag("type", t)
+                    .register(registry);
+            return adder;
+        });
+    }
+
+    private Timer deserializeTimer(String broker) {
+        return deserializeTimers.computeIfAbsent(broker, b -> Timer.builder("consumer.deserialize.duration")
+                .description("Time to deserialize a message body into an Envelope")
+                .tag("broker", b)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry));
+    }
+
+    private static Map<String, Object> summarize(HistogramSnapshot snap) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", snap.count());
+        m.put("mean", round(snap.mean(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile p : snap.percentileValues()) {
+            m.put("p" + String.valueOf(p.percentile() * 100).replace(".0", "").replace(".", ""), round(p.value(TimeUnit.MILLISECONDS)));
+        }
+        m.put("max", round(snap.max(TimeUnit.MILLISECONDS)));
+        return m;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000) / 1000.0;
+    }
+
+    /** 브로커 + 소스별 미터 묶음 */
+    private final class SourceMeters {
+        private final String broker;
+        private final LongAdder received = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder handlerFailed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final Timer e2eLatency;
+
+        private SourceMeters(String broker, String source) {
+            this.broker = broker;
+            FunctionCounter.builder("consumer.received", received, LongAdder::sum)
+                    .description("Envelopes received")
+                    .tags("broker", broker, "source", source)
+                    .register(registry);
+            FunctionCounter.builder("consumer.failed", failed, LongAdder::sum)
+                    .description("Messages that could not be deserialized")
+                    .tags("broker", broker, "source", source)
+                    .register(registry);
+            FunctionCounter.builder("consumer.handler.failed", handlerFailed, LongAdder::sum)
+                    .description("Envelopes whose @EventHandler threw")
+                    .tags("broker", broker, "source", source)
+                    .register(registry);
+            FunctionCounter.builder("consumer.skipped", skipped, LongAdder::sum)
+                    .description("Messages skipped without deserialization because their event type is not registered")
+                    .tags("broker", broker, "source", source)
+                    .register(registry);
+            e2eLatency = Timer.builder("consumer.e2e.latency")
+                    .description("Envelope.occurredAt to consumer receive time")
+                    .tags("broker", broker, "source", source)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
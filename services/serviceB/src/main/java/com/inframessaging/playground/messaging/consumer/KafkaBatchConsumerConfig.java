@@ -0,0 +1,33 @@
+package com.inframessaging.playground.messaging.consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+/**
+ * Kafka 배치 리스너 컨테이너 설정(demo.kafka.batch.enabled=true)
+ * - poll 한 번의 레코드를 List로 받는 배치 리스너 팩토리(kafkaBatchListenerContainerFactory)를 등록합니다.
+ * - spring.kafka.* 설정은 Boot 기본 팩토리와 같게 적용하고, 배치 모드와 컨테이너 동시성만 덧붙입니다.
+ * - demo.kafka.batch.concurrency: 컨테이너(컨슈머 스레드) 수. 토픽 파티션 수보다 크면 남는 컨슈머는 유휴 상태입니다.
+ * - poll당 최대 건수는 spring.kafka.consumer.max-poll-records로 조절합니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "demo.kafka.batch", name = "enabled", havingValue = "true")
+public class KafkaBatchConsumerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${demo.kafka.batch.concurrency:3}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(Math.max(1, concurrency));
+        return factory;
+    }
+}
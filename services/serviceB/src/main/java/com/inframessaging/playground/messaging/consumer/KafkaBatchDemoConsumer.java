@@ -0,0 +1,166 @@
+package com.inframessaging.playground.messaging.consumer;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
+import deser.EnvelopeMessageReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Kafka 데모 컨슈머(배치 모드, demo.kafka.batch.enabled=true)
+ * - poll 한 번의 레코드를 List로 받아(kafkaBatchListenerContainerFactory) 역직렬화는 병렬로, 처리는 파티션 순서대로 합니다.
+ * - 역직렬화: 배치를 demo.kafka.batch.deserialize-threads 개 이하의 연속 구간으로 나눠 워커 풀에서 읽고,
+ *   첫 구간은 리스너 스레드가 직접 읽습니다. 작은 배치(MIN_CHUNK 미만)는 리스너 스레드에서만 읽습니다.
+ * - 헤더의 타입이 등록되지 않은 레코드는 역직렬화하지 않고 건너뛴 것으로 기록합니다(EnvelopeMessageReader.handles).
+ * - 처리: 파티션별로 묶은 뒤 각 파티션 안에서는 오프셋 순서대로 KafkaEnvelopeHandler에 넘깁니다.
+ * - 오류: 레코드 단위 실패는 실패 메트릭으로 남기고 계속 진행합니다. 배치 단위 오류(워커 실패 등)도 요약 로그만 남기고
+ *   예외를 던지지 않으므로 poll 전체가 재처리되지 않습니다(해당 레코드는 실패로 기록).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "demo.kafka.batch", name = "enabled", havingValue = "true")
+public class KafkaBatchDemoConsumer {
+
+    /** 워커에 넘길 최소 구간 크기(이보다 작으면 스레드 전환 비용이 역직렬화보다 큼) */
+    private static final int MIN_CHUNK = 16;
+
+    private final EnvelopeMessageReader envelopeReader;
+    private final KafkaEnvelopeHandler handler;
+    private final MessagingLogSampler logSampler;
+
+    @Value("${demo.kafka.batch.deserialize-threads:4}")
+    private int deserializeThreads;
+
+    /** 역직렬화 워커(모든 컨테이너 스레드가 공유) */
+    private ExecutorService deserializePool;
+
+    @PostConstruct
+    void init() {
+        deserializePool = Executors.newFixedThreadPool(Math.max(1, deserializeThreads),
+                new CustomizableThreadFactory("kafka-deser-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        deserializePool.shutdown();
+    }
+
+    @KafkaListener(topics = {"${demo.kafka.topic:user.profile.updated.v1}", "${demo.kafka.topic2:user.activity.logged.v1}"},
+            groupId = "infra-messaging-demo", containerFactory = "kafkaBatchListenerContainerFactory", batch = "true")
+    public void onBatch(List<ConsumerRecord<String, byte[]>> records) {
+        int n = records.size();
+        if (n == 0) return;
+        Envelope<?>[] envelopes = new Envelope<?>[n];
+        long[] nanos = new long[n];
+        Exception[] errors = new Exception[n];
+        boolean[] skipped = new boolean[n];
+        int batchErrors = deserialize(records, envelopes, nanos, errors, skipped);
+
+        // 파티션별 순서 보장: 한 poll 안에서 같은 파티션 레코드는 오프셋 순으로 들어오므로 등장 순서대로 묶습니다.
+        Map<String, List<Integer>> byPartition = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            ConsumerRecord<String, byte[]> r = records.get(i);
+            byPartition.computeIfAbsent(r.topic() + "-" + r.partition(), k -> new ArrayList<>()).add(i);
+        }
+        int failed = 0;
+        for (List<Integer> partition : byPartition.values()) {
+            for (int i : partition) {
+                ConsumerRecord<String, byte[]> r = records.get(i);
+                try {
+                    if (skipped[i]) {
+                        handler.skipped(r);
+                        continue;
+                    }
+                    if (errors[i] != null) {
+                        handler.failed(r, nanos[i], errors[i]);
+                        failed++;
+                        continue;
+                    }
+                    if (!handler.handle(r, envelopes[i], nanos[i])) failed++;
+                } catch (Exception e) {
+                    handler.failed(r, nanos[i], e);
+                    failed++;
+                }
+            }
+        }
+        if ((failed > 0 || batchErrors > 0) && logSampler.tryAcquireSummary("consumer.kafka.batch") >= 0) {
+            log.warn("[KafkaBatchDemoConsumer] batch size={} partitions={} failed={} chunkErrors={}",
+                    n, byPartition.size(), failed, batchErrors);
+        }
+    }
+
+    /**
+     * 배치를 연속 구간으로 나눠 병렬 역직렬화합니다. 결과는 레코드 인덱스 위치에 채웁니다.
+     * @return 실패한 구간 수(해당 구간의 레코드는 errors에 원인이 기록됨)
+     */
+    private int deserialize(List<ConsumerRecord<String, byte[]>> records, Envelope<?>[] envelopes, long[] nanos, Exception[] errors,
+                            boolean[] skipped) {
+        int n = records.size();
+        int chunks = Math.max(1, Math.min(Math.max(1, deserializeThreads), n / MIN_CHUNK));
+        int chunkSize = (n + chunks - 1) / chunks;
+        List<CompletableFuture<Void>> pending = new ArrayList<>(chunks - 1);
+        List<int[]> ranges = new ArrayList<>(chunks - 1);
+        for (int from = chunkSize; from < n; from += chunkSize) {
+            int start = from;
+            int end = Math.min(n, from + chunkSize);
+            try {
+                pending.add(CompletableFuture.runAsync(() -> readRange(records, start, end, envelopes, nanos, skipped), deserializePool));
+                ranges.add(new int[]{start, end});
+            } catch (RejectedExecutionException e) {
+                // 종료 중 등으로 풀이 받지 않으면 리스너 스레드에서 읽습니다.
+                readRange(records, start, end, envelopes, nanos, skipped);
+            }
+        }
+        readRange(records, 0, Math.min(n, chunkSize), envelopes, nanos, skipped);
+
+        int chunkErrors = 0;
+        for (int c = 0; c < pending.size(); c++) {
+            try {
+                pending.get(c).join();
+            } catch (Exception e) {
+                chunkErrors++;
+                int[] range = ranges.get(c);
+                for (int i = range[0]; i < range[1]; i++) {
+                    if (envelopes[i] == null && !skipped[i]) errors[i] = e;
+                }
+            }
+        }
+        return chunkErrors;
+    }
+
+    /**
+     * [from, to) 구간을 순서대로 역직렬화합니다. 레코드 단위 실패는 null(EnvelopeMessageReader가 처리)
+     * - 처리 대상이 아닌 레코드(handles == false)는 읽지 않고 skipped에 표시합니다.
+     */
+    private void readRange(List<ConsumerRecord<String, byte[]>> records, int from, int to, Envelope<?>[] envelopes, long[] nanos,
+                           boolean[] skipped) {
+        for (int i = from; i < to; i++) {
+            ConsumerRecord<String, byte[]> record = records.get(i);
+            if (!envelopeReader.handles(record)) {
+                skipped[i] = true;
+                continue;
+            }
+            long start = System.nanoTime();
+            envelopes[i] = envelopeReader.read(record);
+            nanos[i] = System.nanoTime() - start;
+        }
+    }
+}
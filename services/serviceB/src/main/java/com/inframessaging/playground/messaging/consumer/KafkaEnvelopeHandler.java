@@ -0,0 +1,72 @@
+package com.inframessaging.playground.messaging.consumer;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka 데모 컨슈머 공통 처리(역직렬화 이후)
+ * - 단건 리스너(KafkaDemoConsumer)와 배치 리스너(KafkaBatchDemoConsumer)가 같은 메트릭/로그/타입별 처리를 쓰도록 분리했습니다.
+ * - 타입별 처리는 @EventHandler 메서드로 넘깁니다(EventHandlerDispatcher, 핸들러가 없는 이벤트는 메트릭/로그만).
+ *   핸들러 예외는 역직렬화 실패와 나눠 consumer.handler.failed로 기록하고 다음 레코드로 진행합니다.
+ * - 수신 로그는 MessagingLogSampler 예산 안에서만 남기며, payload 출력은 messaging.logging.payload 설정을 따릅니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KafkaEnvelopeHandler {
+
+    private final ConsumerMetrics metrics;
+    private final MessagingLogSampler logSampler;
+    private final EventHandlerDispatcher dispatcher;
+
+    /**
+     * 역직렬화된 레코드 1건을 처리합니다.
+     * @param env 역직렬화 결과(null이면 실패로 기록)
+     * @param deserializeNanos 역직렬화에 걸린 시간
+     * @return 정상 처리했으면 true(역직렬화 실패/핸들러 예외면 false)
+     */
+    public boolean handle(ConsumerRecord<String, byte[]> record, Envelope<?> env, long deserializeNanos) {
+        String topic = record.topic();
+        if (env == null) {
+            metrics.recordFailed(ConsumerMetrics.KAFKA, topic, deserializeNanos);
+            return false;
+        }
+        metrics.recordReceived(ConsumerMetrics.KAFKA, topic, env, deserializeNanos);
+        try {
+            dispatcher.dispatch(env);
+        } catch (RuntimeException e) {
+            metrics.recordHandlerFailed(ConsumerMetrics.KAFKA, topic);
+            if (logSampler.tryAcquireSummary("consumer.kafka.handler") >= 0) {
+                log.warn("[KafkaDemoConsumer] 핸들러 실패, id={} type={} version={} error={}",
+                        env.getId(), env.getType(), env.getVersion(), e.getMessage(), e);
+            }
+            return false;
+        }
+
+        // 공통 로그(샘플링)
+        long skipped = logSampler.tryAcquire("consumer.kafka");
+        if (skipped < 0) return true;
+        log.info("[KafkaDemoConsumer] 수신 envelope: id={} type={} version={} payloadClass={} (kafkaReceived={}, skipped={})",
+                env.getId(), env.getType(), env.getVersion(),
+                env.getPayload() != null ? env.getPayload().getClass().getSimpleName() : null,
+                metrics.totalReceived(ConsumerMetrics.KAFKA), skipped);
+        return true;
+    }
+
+    /** 처리 대상이 아닌 이벤트(EnvelopeMessageReader.handles == false) 1건을 건너뛴 것으로 기록합니다. */
+    public void skipped(ConsumerRecord<String, byte[]> record) {
+        metrics.recordSkipped(ConsumerMetrics.KAFKA, record.topic());
+    }
+
+    /** 역직렬화 중 예외 1건을 실패로 기록합니다(로그는 요약 예산 안에서만). */
+    public void failed(ConsumerRecord<String, byte[]> record, long elapsedNanos, Exception e) {
+        metrics.recordFailed(ConsumerMetrics.KAFKA, record.topic(), elapsedNanos);
+        if (logSampler.tryAcquireSummary("consumer.kafka.error") >= 0) {
+            log.warn("[KafkaDemoConsumer] 역직렬화 실패, raw={} error={}", logSampler.payload(record.value()), e.getMessage());
+        }
+    }
+}
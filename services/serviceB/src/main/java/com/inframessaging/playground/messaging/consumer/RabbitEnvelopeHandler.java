@@ -0,0 +1,72 @@
+package com.inframessaging.playground.messaging.consumer;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
+import deser.EnvelopeMessageReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.stereotype.Component;
+
+/**
+ * RabbitMQ 데모 컨슈머 공통 처리
+ * - 큐별 리스너(RabbitDemoConsumer, RabbitDemoConsumer2)는 큐와 로그 태그만 다르고 수신 처리는 이 클래스를 공유합니다.
+ * - 원본 Message를 X-Event-Type/Version 헤더로 고른 payload 타입으로 한 번에 역직렬화합니다.
+ *   헤더의 타입이 등록되지 않은 메시지는 본문을 읽지 않고 건너뛴 것으로 기록합니다(consumer.skipped).
+ * - 타입별 처리는 @EventHandler 메서드로 넘깁니다(EventHandlerDispatcher). 핸들러 예외는 역직렬화 실패와 나눠
+ *   consumer.handler.failed로 기록합니다.
+ * - 수신 로그는 MessagingLogSampler 예산(category, 실패는 category.handler / category.error) 안에서만 남깁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RabbitEnvelopeHandler {
+
+    private final EnvelopeMessageReader envelopeReader;
+    private final ConsumerMetrics metrics;
+    private final MessagingLogSampler logSampler;
+    private final EventHandlerDispatcher dispatcher;
+
+    /**
+     * 메시지 1건을 역직렬화하고 핸들러로 넘깁니다. 예외는 밖으로 던지지 않습니다(메트릭/샘플링 로그로 기록).
+     * @param category 로그 예산 카테고리(예: consumer.rabbit)
+     * @param logTag 로그 접두어(예: RabbitDemoConsumer)
+     */
+    public void handle(Message message, String category, String logTag) {
+        String queue = message.getMessageProperties().getConsumerQueue();
+        if (!envelopeReader.handles(message)) {
+            metrics.recordSkipped(ConsumerMetrics.RABBIT, queue);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Envelope<?> env = envelopeReader.read(message);
+            if (env == null) {
+                metrics.recordFailed(ConsumerMetrics.RABBIT, queue, System.nanoTime() - start);
+                return;
+            }
+            metrics.recordReceived(ConsumerMetrics.RABBIT, queue, env, System.nanoTime() - start);
+            try {
+                dispatcher.dispatch(env);
+            } catch (RuntimeException e) {
+                metrics.recordHandlerFailed(ConsumerMetrics.RABBIT, queue);
+                if (logSampler.tryAcquireSummary(category + ".handler") >= 0) {
+                    log.warn("[{}] 핸들러 실패, id={} type={} version={} error={}",
+                            logTag, env.getId(), env.getType(), env.getVersion(), e.getMessage(), e);
+                }
+                return;
+            }
+            long skipped = logSampler.tryAcquire(category);
+            if (skipped >= 0) {
+                log.info("[{}] 수신 envelope: id={} type={} version={} payload={} (rabbitReceived={}, skipped={})",
+                        logTag, env.getId(), env.getType(), env.getVersion(), logSampler.payload(env.getPayload()),
+                        metrics.totalReceived(ConsumerMetrics.RABBIT), skipped);
+            }
+        } catch (Exception e) {
+            metrics.recordFailed(ConsumerMetrics.RABBIT, queue, System.nanoTime() - start);
+            if (logSampler.tryAcquireSummary(category + ".error") >= 0) {
+                log.warn("[{}] 역직렬화 실패, raw={} error={}", logTag, logSampler.payload(message.getBody()), e.getMessage());
+            }
+        }
+    }
+}
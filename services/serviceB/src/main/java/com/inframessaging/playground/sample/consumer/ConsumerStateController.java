@@ -1,6 +1,6 @@
 package com.inframessaging.playground.sample.consumer;
 
-import com.inframessaging.playground.messaging.consumer.ConsumerState;
+import com.inframessaging.playground.messaging.consumer.ConsumerMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,20 +11,19 @@ import java.util.Map;
 
 /**
  * ServiceB(Consumer) 상태 확인 컨트롤러
- * - 각 브로커에서 수신한 메시지 수를 반환합니다.
+ * - 각 브로커에서 수신한 메시지 수(기존 kafkaReceived/rabbitReceived 유지)와
+ *   소스/이벤트 타입별 건수, end-to-end 지연·역직렬화 시간 분위수를 반환합니다.
+ * - 같은 값은 actuator(/actuator/metrics/consumer.*)로도 노출됩니다.
  */
 @RestController
 @RequestMapping("/api/consumer/state")
 @RequiredArgsConstructor
 public class ConsumerStateController {
 
-    private final ConsumerState state;
+    private final ConsumerMetrics metrics;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> getState() {
-        return ResponseEntity.ok(Map.of(
-                "kafkaReceived", state.getKafkaReceived().get(),
-                "rabbitReceived", state.getRabbitReceived().get()
-        ));
+        return ResponseEntity.ok(metrics.snapshot());
     }
 }
@@ -0,0 +1,29 @@
+package com.inframessaging.playground.sample.consumer;
+
+import com.inframessaging.playground.messaging.api.EventHandler;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumer 쪽 타입별 핸들러 예시
+ * - (type="UserRegisteredEvent", version=1) → UserRegisteredPayload
+ * - @EventHandler 파라미터 타입이 EventPayloadRegistry에 자동 등록되므로 별도 매핑 설정이 필요 없습니다.
+ *   본문은 수신 시 한 번만 UserRegisteredPayload로 역직렬화되어 그대로 전달됩니다(Kafka/Rabbit 공통).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserRegisteredHandler {
+
+    private final MessagingLogSampler logSampler;
+
+    @EventHandler(type = "UserRegisteredEvent", version = 1)
+    public void onUserRegistered(UserRegisteredPayload payload) {
+        // 파싱된 필드 값 출력(payload 출력 설정 적용)
+        if (logSampler.tryAcquire("consumer.user-registered") >= 0) {
+            log.info("[UserRegisteredHandler] UserRegisteredEvent 파싱 결과: {}", logSampler.payload(payload));
+        }
+    }
+}
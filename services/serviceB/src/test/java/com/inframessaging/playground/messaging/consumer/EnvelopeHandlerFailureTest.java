@@ -0,0 +1,133 @@
+package com.inframessaging.playground.messaging.consumer;
+
+import com.inframessaging.playground.messaging.api.Envelope;
+import com.inframessaging.playground.messaging.config.MessagingProperties;
+import com.inframessaging.playground.messaging.logging.MessagingLogSampler;
+import deser.EnvelopeMessageReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 역직렬화 실패(consumer.failed), 핸들러 예외(consumer.handler.failed), 미등록 타입 건너뜀(consumer.skipped)이
+ * 서로 다른 카운터로 기록되는지 확인합니다.
+ */
+class EnvelopeHandlerFailureTest {
+
+    private static final String TOPIC = "user.registered.v1";
+    private static final String QUEUE = "user.registered.q";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventHandlerDispatcher dispatcher = mock(EventHandlerDispatcher.class);
+    private final EnvelopeMessageReader reader = mock(EnvelopeMessageReader.class);
+    private final MessagingLogSampler logSampler = new MessagingLogSampler(new MessagingProperties());
+    private ConsumerMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(registry);
+        metrics = new ConsumerMetrics(provider);
+        metrics.init();
+    }
+
+    @Test
+    void kafkaHandlerExceptionIsCountedApartFromDeserializationFailure() {
+        KafkaEnvelopeHandler handler = new KafkaEnvelopeHandler(metrics, logSampler, dispatcher);
+        Envelope<?> env = envelope();
+        when(dispatcher.dispatch(env)).thenThrow(new IllegalStateException("handler bug"));
+
+        assertThat(handler.handle(kafkaRecord(), env, 1_000)).isFalse();
+        assertThat(handler.handle(kafkaRecord(), null, 1_000)).isFalse();
+        handler.failed(kafkaRecord(), 1_000, new IllegalArgumentException("bad json"));
+
+        assertThat(count("consumer.received", ConsumerMetrics.KAFKA, TOPIC)).isEqualTo(1);
+        assertThat(count("consumer.handler.failed", ConsumerMetrics.KAFKA, TOPIC)).isEqualTo(1);
+        assertThat(count("consumer.failed", ConsumerMetrics.KAFKA, TOPIC)).isEqualTo(2);
+    }
+
+    @Test
+    void kafkaSuccessfulDispatchCountsOnlyReceived() {
+        KafkaEnvelopeHandler handler = new KafkaEnvelopeHandler(metrics, logSampler, dispatcher);
+        Envelope<?> env = envelope();
+        when(dispatcher.dispatch(env)).thenReturn(true);
+
+        assertThat(handler.handle(kafkaRecord(), env, 1_000)).isTrue();
+        handler.skipped(kafkaRecord());
+
+        assertThat(count("consumer.received", ConsumerMetrics.KAFKA, TOPIC)).isEqualTo(1);
+        assertThat(count("consumer.skipped", ConsumerMetrics.KAFKA, TOPIC)).isEqualTo(1);
+        assertThat(count("consumer.handler.failed", ConsumerMetrics.KAFKA, TOPIC)).isZero();
+        assertThat(count("consumer.failed", ConsumerMetrics.KAFKA, TOPIC)).isZero();
+    }
+
+    @Test
+    void rabbitHandlerExceptionIsCountedApartFromDeserializationFailure() {
+        RabbitEnvelopeHandler handler = new RabbitEnvelopeHandler(reader, metrics, logSampler, dispatcher);
+        Message ok = rabbitMessage("ok");
+        Message broken = rabbitMessage("broken");
+        Message unreadable = rabbitMessage("unreadable");
+        Envelope<?> env = envelope();
+        when(reader.handles(any(Message.class))).thenReturn(true);
+        doReturn(env).when(reader).read(ok);
+        when(reader.read(broken)).thenThrow(new IllegalArgumentException("bad json"));
+        when(reader.read(unreadable)).thenReturn(null);
+        when(dispatcher.dispatch(env)).thenThrow(new IllegalStateException("handler bug"));
+
+        handler.handle(ok, "consumer.rabbit", "RabbitDemoConsumer");
+        handler.handle(broken, "consumer.rabbit", "RabbitDemoConsumer");
+        handler.handle(unreadable, "consumer.rabbit", "RabbitDemoConsumer");
+
+        assertThat(count("consumer.received", ConsumerMetrics.RABBIT, QUEUE)).isEqualTo(1);
+        assertThat(count("consumer.handler.failed", ConsumerMetrics.RABBIT, QUEUE)).isEqualTo(1);
+        assertThat(count("consumer.failed", ConsumerMetrics.RABBIT, QUEUE)).isEqualTo(2);
+    }
+
+    @Test
+    void rabbitUnregisteredTypeIsSkippedWithoutReadingBody() {
+        RabbitEnvelopeHandler handler = new RabbitEnvelopeHandler(reader, metrics, logSampler, dispatcher);
+        Message message = rabbitMessage("unregistered");
+        when(reader.handles(message)).thenReturn(false);
+
+        handler.handle(message, "consumer.rabbit", "RabbitDemoConsumer");
+
+        verify(reader, never()).read(any(Message.class));
+        assertThat(count("consumer.skipped", ConsumerMetrics.RABBIT, QUEUE)).isEqualTo(1);
+        assertThat(count("consumer.failed", ConsumerMetrics.RABBIT, QUEUE)).isZero();
+    }
+
+    private double count(String name, String broker, String source) {
+        return registry.get(name).tags("broker", broker, "source", source).functionCounter().count();
+    }
+
+    private static Envelope<?> envelope() {
+        return Envelope.builder().id("e-1").type("UserRegistered").version(1).occurredAt(Instant.now()).payload("u-1").build();
+    }
+
+    private static ConsumerRecord<String, byte[]> kafkaRecord() {
+        return new ConsumerRecord<>(TOPIC, 0, 0L, "u-1", "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Message rabbitMessage(String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(QUEUE);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}